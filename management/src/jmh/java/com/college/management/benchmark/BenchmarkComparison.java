@@ -0,0 +1,88 @@
+package com.college.management.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON report against a baseline report and fails when any benchmark got slower than
+ * the threshold (in percent). Run through the jmh profile: mvn -Pjmh exec:exec@compare
+ * Arguments: baseline.json current.json [thresholdPercent]
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.isFile()) {
+            System.out.println("No baseline at " + baselineFile + ", nothing to compare");
+            return;
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(baselineFile));
+        Map<String, JsonNode> current = index(objectMapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        System.out.printf("%-75s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode metric = entry.getValue().get("primaryMetric");
+            String unit = metric.get("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-75s %14s %14.3f %9s  %s%n", entry.getKey(), "-", metric.get("score").asDouble(), "new", unit);
+                continue;
+            }
+            double was = before.get("primaryMetric").get("score").asDouble();
+            double now = metric.get("score").asDouble();
+            // Throughput modes report ops per time unit; every other mode reports time per op
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().get("mode").asText());
+            double change = (now - was) / was * 100;
+            double slowdown = higherIsBetter ? -change : change;
+            boolean regressed = slowdown > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-75s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), was, now, change, unit,
+                    regressed ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    // Keyed by benchmark name plus parameters, e.g. StaffJsonBenchmark.serializeStaffList{size=100}
+    private static Map<String, JsonNode> index(JsonNode report) {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : report) {
+            String name = result.get("benchmark").asText();
+            name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+            JsonNode params = result.get("params");
+            if (params != null) {
+                StringBuilder key = new StringBuilder(name).append('{');
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(param.getKey()).append('=').append(param.getValue().asText());
+                    if (fields.hasNext()) {
+                        key.append(',');
+                    }
+                }
+                name = key.append('}').toString();
+            }
+            results.put(name, result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,128 @@
+package com.college.management.entity;
+
+import com.college.management.config.StaffProtobufHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.luben.zstd.ZstdOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding a department list (400 staff, the size of the seeded load-test departments) through the
+ * message converters behind each Accept type, optionally followed by the content coding the server
+ * applies. Setup prints the body size of each combination, the other half of the trade-off.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-jmh.xml")
+public class StaffFormatBenchmark {
+
+    private static final Type STAFF_LIST = ResolvableType.forClassWithGenerics(List.class, Staff.class).getType();
+
+    @State(Scope.Benchmark)
+    public static class DepartmentList {
+        @Param({"json", "cbor", "smile", "protobuf"})
+        String format;
+
+        @Param({"none", "gzip", "zstd"})
+        String compression;
+
+        GenericHttpMessageConverter<Object> converter;
+        MediaType mediaType;
+        List<Staff> staffList;
+
+        @Setup
+        public void setUp() throws Exception {
+            converter = converter(format);
+            mediaType = converter.getSupportedMediaTypes().get(0);
+            staffList = new ArrayList<>(400);
+            for (int i = 0; i < 400; i++) {
+                Staff staff = new Staff("Staff Member " + i, 1001L, 30000.0 + i * 37.5);
+                staff.setStaffId(400L + i);
+                staff.setVersion((long) i % 7);
+                staffList.add(staff);
+            }
+            System.out.printf("%n%s/%s: %d bytes%n", format, compression, encode(this).length);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static GenericHttpMessageConverter<Object> converter(String format) {
+            Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+            Object converter = switch (format) {
+                case "json" -> new MappingJackson2HttpMessageConverter(builder.build());
+                case "cbor" -> new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+                case "smile" -> new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+                case "protobuf" -> new StaffProtobufHttpMessageConverter();
+                default -> throw new IllegalArgumentException("Unknown format: " + format);
+            };
+            return (GenericHttpMessageConverter<Object>) converter;
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeDepartmentList(DepartmentList state) throws IOException {
+        return encode(state);
+    }
+
+    private static byte[] encode(DepartmentList state) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        HttpOutputMessage target = switch (state.compression) {
+            case "none" -> message;
+            case "gzip" -> new CompressedMessage(message, new GZIPOutputStream(message.getBody(), 8192));
+            case "zstd" -> new CompressedMessage(message, new ZstdOutputStream(message.getBody(), 3));
+            default -> throw new IllegalArgumentException("Unknown compression: " + state.compression);
+        };
+        state.converter.write(state.staffList, STAFF_LIST, state.mediaType, target);
+        target.getBody().close();
+        return message.getBodyAsBytes();
+    }
+
+    // Converters flush but never close the body, as with a servlet response; the coder finishes on close
+    private record CompressedMessage(MockHttpOutputMessage message, OutputStream coder) implements HttpOutputMessage {
+
+        @Override
+        public OutputStream getBody() {
+            return new FilterOutputStream(coder) {
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    out.write(bytes, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return message.getHeaders();
+        }
+    }
+}
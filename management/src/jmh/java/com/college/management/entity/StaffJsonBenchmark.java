@@ -0,0 +1,92 @@
+package com.college.management.entity;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of single staff bodies and of list responses, using the same
+ * ObjectMapper defaults Spring MVC's message converter starts from.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-jmh.xml")
+public class StaffJsonBenchmark {
+
+    private static final TypeReference<List<Staff>> STAFF_LIST = new TypeReference<>() {
+    };
+
+    @State(Scope.Benchmark)
+    public static class SingleStaff {
+        ObjectMapper objectMapper;
+        Staff staff;
+        byte[] json;
+
+        @Setup
+        public void setUp() throws Exception {
+            objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            staff = new Staff("Johnny Walker", 101L, 55000.0);
+            staff.setStaffId(42L);
+            json = objectMapper.writeValueAsBytes(staff);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class StaffList {
+        @Param({"100", "10000"})
+        int size;
+
+        ObjectMapper objectMapper;
+        List<Staff> staffList;
+        byte[] json;
+
+        @Setup
+        public void setUp() throws Exception {
+            objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            staffList = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Staff staff = new Staff("Staff Member " + i, 100L + i % 20, 30000.0 + i);
+                staff.setStaffId((long) i + 1);
+                staffList.add(staff);
+            }
+            json = objectMapper.writeValueAsBytes(staffList);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeStaff(SingleStaff state) throws Exception {
+        return state.objectMapper.writeValueAsBytes(state.staff);
+    }
+
+    @Benchmark
+    public Staff deserializeStaff(SingleStaff state) throws Exception {
+        return state.objectMapper.readValue(state.json, Staff.class);
+    }
+
+    @Benchmark
+    public byte[] serializeStaffList(StaffList state) throws Exception {
+        return state.objectMapper.writeValueAsBytes(state.staffList);
+    }
+
+    @Benchmark
+    public List<Staff> deserializeStaffList(StaffList state) throws Exception {
+        return state.objectMapper.readValue(state.json, STAFF_LIST);
+    }
+}
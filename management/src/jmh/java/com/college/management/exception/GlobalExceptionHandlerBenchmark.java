@@ -0,0 +1,76 @@
+package com.college.management.exception;
+
+import com.college.management.controller.StaffController;
+import com.college.management.entity.Staff;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a service exception into an error response: creating the exception (stack trace
+ * included) and building the body in GlobalExceptionHandler, with logging calls kept but output dropped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-jmh.xml")
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+    private MethodArgumentNotValidException validationException;
+
+    @Setup
+    public void setUp() throws Exception {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry(), Duration.ofSeconds(10));
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/staff/42"));
+        Staff invalid = new Staff(" ", null, -1.0);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalid, "staff");
+        bindingResult.rejectValue("staffName", "NotBlank", "Staff name is required");
+        bindingResult.rejectValue("departmentId", "NotNull", "Department ID is required");
+        bindingResult.rejectValue("salary", "Positive", "Salary must be positive");
+        MethodParameter parameter = new MethodParameter(
+                StaffController.class.getMethod("createStaff", Staff.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResourceNotFoundException createNotFoundException() {
+        return new ResourceNotFoundException("Staff not found with id: 42");
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> handleNotFound() {
+        return handler.handleResourceNotFound(new ResourceNotFoundException("Staff not found with id: 42"), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> handleInvalidInput() {
+        return handler.handleInvalidInput(new InvalidInputException("Limit must be between 1 and 1000"), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> handleValidationFailure() throws Exception {
+        return handler.handleException(validationException, request);
+    }
+}
@@ -0,0 +1,152 @@
+package com.college.management.repository;
+
+import com.college.management.entity.Staff;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Map-backed stand-in for StaffRepository so service-layer benchmarks measure our code rather than
+ * JDBC and PostgreSQL. Implemented as a dynamic proxy because the JpaRepository surface is large;
+ * methods the service does not call throw UnsupportedOperationException.
+ */
+public final class InMemoryStaffRepository implements InvocationHandler {
+
+    private static final Comparator<Staff> BY_SALARY = Comparator.comparing(Staff::getSalary).thenComparing(Staff::getStaffId);
+    private static final Comparator<Staff> BY_SALARY_DESC = Comparator.comparing(Staff::getSalary).reversed().thenComparing(Staff::getStaffId);
+
+    private final ConcurrentSkipListMap<Long, Staff> rows = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private InMemoryStaffRepository() {
+    }
+
+    public static StaffRepository create() {
+        return (StaffRepository) Proxy.newProxyInstance(StaffRepository.class.getClassLoader(),
+                new Class<?>[]{StaffRepository.class}, new InMemoryStaffRepository());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "save" -> save((Staff) args[0]);
+            case "saveAll" -> {
+                List<Staff> saved = new ArrayList<>();
+                ((Iterable<Staff>) args[0]).forEach(staff -> saved.add(save(staff)));
+                yield saved;
+            }
+            case "findById" -> Optional.ofNullable(rows.get((Long) args[0]));
+            case "existsById" -> rows.containsKey((Long) args[0]);
+            case "findAllById" -> StreamSupport.stream(((Iterable<Long>) args[0]).spliterator(), false)
+                    .map(rows::get).filter(staff -> staff != null).toList();
+            case "findAll" -> List.copyOf(rows.values());
+            case "count" -> (long) rows.size();
+            case "delete" -> {
+                rows.remove(((Staff) args[0]).getStaffId());
+                yield null;
+            }
+            case "deleteById" -> {
+                rows.remove((Long) args[0]);
+                yield null;
+            }
+            case "updateReturning" -> updateReturning((Long) args[0], (String) args[1], (Long) args[2], (Double) args[3], (Long) args[4]);
+            case "deleteReturningDepartment" -> {
+                Staff current = rows.get((Long) args[0]);
+                if (current == null || !versionMatches(current, (Long) args[1])) {
+                    yield List.of();
+                }
+                rows.remove(current.getStaffId());
+                yield List.of(current.getDepartmentId());
+            }
+            case "findByDepartmentId" -> filter(staff -> staff.getDepartmentId().equals(args[0]), null, null);
+            case "findByMinimumSalary" -> filter(staff -> staff.getSalary() >= (Double) args[0], null, null);
+            case "findBySalaryRange" -> filter(staff -> staff.getSalary() >= (Double) args[0] && staff.getSalary() <= (Double) args[1],
+                    BY_SALARY, (Limit) args[2]);
+            case "findByOrderBySalaryDescStaffIdAsc" -> filter(staff -> true, BY_SALARY_DESC, (Limit) args[0]);
+            case "findByDepartmentIdOrderBySalaryDescStaffIdAsc" -> filter(staff -> staff.getDepartmentId().equals(args[0]),
+                    BY_SALARY_DESC, (Limit) args[1]);
+            case "findByStaffIdGreaterThanOrderByStaffIdAsc" -> filter(after((Long) args[0]), staff -> true,
+                    null, (Limit) args[1]);
+            case "findByDepartmentIdAndStaffIdGreaterThanOrderByStaffIdAsc" -> filter(after((Long) args[1]),
+                    staff -> staff.getDepartmentId().equals(args[0]), null, (Limit) args[2]);
+            case "findByMinimumSalaryAfter" -> filter(after((Long) args[1]), staff -> staff.getSalary() >= (Double) args[0],
+                    null, (Limit) args[2]);
+            case "streamIdsAndNames" -> rows.values().stream()
+                    .map(staff -> new Object[]{staff.getStaffId(), staff.getStaffName()});
+            case "streamPayrollRows" -> rows.values().stream()
+                    .sorted(Comparator.comparing(Staff::getDepartmentId).thenComparing(BY_SALARY))
+                    .map(staff -> new Object[]{staff.getStaffId(), staff.getDepartmentId(), staff.getSalary()});
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryStaffRepository";
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private Staff save(Staff staff) {
+        if (staff.getStaffId() == null) {
+            staff.setStaffId(sequence.incrementAndGet());
+        } else {
+            sequence.accumulateAndGet(staff.getStaffId(), Math::max);
+        }
+        if (staff.getVersion() == null) {
+            staff.setVersion(0L);
+        }
+        rows.put(staff.getStaffId(), staff);
+        return staff;
+    }
+
+    // Same contract as the native statement: null arguments keep the current value
+    private List<Object[]> updateReturning(Long id, String staffName, Long departmentId, Double salary, Long expectedVersion) {
+        Staff current = rows.get(id);
+        if (current == null || !versionMatches(current, expectedVersion)) {
+            return List.of();
+        }
+        Staff updated = new Staff(staffName != null ? staffName : current.getStaffName(),
+                departmentId != null ? departmentId : current.getDepartmentId(),
+                salary != null ? salary : current.getSalary());
+        updated.setStaffId(id);
+        updated.setVersion(current.getVersion() + 1);
+        rows.put(id, updated);
+        return List.<Object[]>of(new Object[]{id, updated.getStaffName(), updated.getDepartmentId(), updated.getSalary(),
+                updated.getVersion(), current.getDepartmentId()});
+    }
+
+    private static boolean versionMatches(Staff current, Long expectedVersion) {
+        return expectedVersion == null || expectedVersion.equals(current.getVersion());
+    }
+
+    // Keyset queries start at the cursor, as the primary-key index would
+    private Collection<Staff> after(Long afterId) {
+        return rows.tailMap(afterId, false).values();
+    }
+
+    private List<Staff> filter(Predicate<Staff> predicate, Comparator<Staff> order, Limit limit) {
+        return filter(rows.values(), predicate, order, limit);
+    }
+
+    // Rows come out in staff id order unless another order is given
+    private List<Staff> filter(Collection<Staff> source, Predicate<Staff> predicate, Comparator<Staff> order, Limit limit) {
+        Stream<Staff> matches = source.stream().filter(predicate);
+        if (order != null) {
+            matches = matches.sorted(order);
+        }
+        if (limit != null && limit.isLimited()) {
+            matches = matches.limit(limit.max());
+        }
+        return matches.toList();
+    }
+}
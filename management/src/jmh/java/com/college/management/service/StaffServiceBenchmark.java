@@ -0,0 +1,156 @@
+package com.college.management.service;
+
+import com.college.management.dto.DepartmentPayroll;
+import com.college.management.dto.StaffCursor;
+import com.college.management.dto.StaffPage;
+import com.college.management.entity.Staff;
+import com.college.management.exception.ResourceNotFoundException;
+import com.college.management.repository.InMemoryStaffRepository;
+import com.college.management.repository.StaffRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StaffServiceImpl wired with its real cache, name index and payroll snapshot, but over an in-memory
+ * repository, so the numbers cover service logic and our in-memory structures without the database.
+ * Change events are delivered synchronously, as the transactional listeners would after commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-jmh.xml")
+public class StaffServiceBenchmark {
+
+    private static final int STAFF_COUNT = 100_000;
+    private static final int DEPARTMENTS = 50;
+    private static final int HOT_IDS = 1_000;
+    private static final String[] FIRST = {"Johnny", "Mary", "Ahmed", "Priya", "Chen", "Olga", "Diego", "Fatima"};
+    private static final String[] LAST = {"Walker", "Smith", "Khan", "Sharma", "Wei", "Ivanova", "Garcia", "Hassan"};
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private StaffServiceImpl staffService;
+    private String middleCursor;
+    private long[] hotIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        StaffRepository staffRepository = InMemoryStaffRepository.create();
+        Random random = new Random(42);
+        for (int i = 0; i < STAFF_COUNT; i++) {
+            String name = FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)] + " " + i;
+            staffRepository.save(new Staff(name, 100L + random.nextInt(DEPARTMENTS), 20_000.0 + random.nextInt(100_000)));
+        }
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(StaffCache.STAFF, Caffeine.from("maximumSize=10000").recordStats().build());
+        cacheManager.registerCustomCache(StaffCache.STAFF_BY_DEPARTMENT, Caffeine.from("maximumSize=500").recordStats().build());
+        StaffCache staffCache = new StaffCache();
+        ReflectionTestUtils.setField(staffCache, "cacheManager", cacheManager);
+
+        StaffNameIndex staffNameIndex = new StaffNameIndex();
+        staffRepository.findAll().forEach(staff -> staffNameIndex.index(staff.getStaffId(), staff.getStaffName()));
+        staffNameIndex.markReady();
+
+        PayrollSnapshot payrollSnapshot = new PayrollSnapshot();
+        payrollSnapshot.load(staffRepository.streamPayrollRows());
+
+        ApplicationEventPublisher eventPublisher = event -> {
+            if (event instanceof StaffChangedEvent changed) {
+                staffNameIndex.onStaffChanged(changed);
+                payrollSnapshot.onStaffChanged(changed);
+            }
+        };
+
+        staffService = new StaffServiceImpl();
+        ReflectionTestUtils.setField(staffService, "staffRepository", staffRepository);
+        ReflectionTestUtils.setField(staffService, "staffCache", staffCache);
+        ReflectionTestUtils.setField(staffService, "staffNameIndex", staffNameIndex);
+        ReflectionTestUtils.setField(staffService, "payrollSnapshot", payrollSnapshot);
+        ReflectionTestUtils.setField(staffService, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(staffService, "maxPageSize", 1000);
+        ReflectionTestUtils.setField(staffService, "maxSearchLimit", 500);
+
+        middleCursor = StaffCursor.encode((long) (STAFF_COUNT / 2));
+        hotIds = random.longs(HOT_IDS, 1, STAFF_COUNT + 1).toArray();
+    }
+
+    @Setup(Level.Iteration)
+    public void warmCaches() {
+        for (long id : hotIds) {
+            staffService.getStaffById(id);
+        }
+    }
+
+    @Benchmark
+    public Optional<Staff> getStaffByIdCached() {
+        return staffService.getStaffById(hotIds[nextIndex(HOT_IDS)]);
+    }
+
+    @Benchmark
+    public Object getMissingStaff() {
+        try {
+            return staffService.getStaffById(-1L);
+        } catch (ResourceNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public List<Staff> getStaffByDepartmentCached() {
+        return staffService.getStaffByDepartment(100L + nextIndex(DEPARTMENTS));
+    }
+
+    @Benchmark
+    public List<Staff> searchStaffByName() {
+        return staffService.searchStaffByName("walk", 20);
+    }
+
+    @Benchmark
+    public StaffPage getStaffPage() {
+        return staffService.getStaffPage(middleCursor, 50);
+    }
+
+    @Benchmark
+    public DepartmentPayroll getDepartmentPayroll() {
+        return staffService.getDepartmentPayroll(100L + nextIndex(DEPARTMENTS), PERCENTILES);
+    }
+
+    @Benchmark
+    public List<DepartmentPayroll> getPayrollByDepartment() {
+        return staffService.getPayrollByDepartment(PERCENTILES);
+    }
+
+    private int nextIndex(int bound) {
+        next = (next + 1) % bound;
+        return next;
+    }
+
+    // Paired so the data set stays the same size however many invocations run
+    @Benchmark
+    public Staff createAndDeleteStaff() {
+        Staff created = staffService.createStaff(new Staff("Benchmark Hire", 100L + nextIndex(DEPARTMENTS), 55_000.0));
+        staffService.deleteStaff(created.getStaffId(), null);
+        return created;
+    }
+}
@@ -0,0 +1,77 @@
+package com.college.management.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prints a p50/p99/p999/throughput table per phase and keeps the raw numbers: one summary.csv row per
+ * endpoint and phase, plus a full HDR percentile distribution (.hgrm, in milliseconds) per endpoint.
+ */
+final class LoadReport {
+
+    private static final String ROW = "%-11s %9s %8s %9s %10s %10s %10s %10s%n";
+
+    private final Path directory;
+    private final PrintWriter summary;
+
+    LoadReport(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.summary = new PrintWriter(Files.newBufferedWriter(directory.resolve("summary.csv")), true);
+        summary.println("rows,rate,endpoint,requests,errors,dropped,throughput,p50_ms,p99_ms,p999_ms,max_ms");
+    }
+
+    void add(int rows, OpenLoopDriver.PhaseResult result) throws IOException {
+        PrintStream out = System.out;
+        out.printf("%n=== %,d rows, %,d req/s offered, %d s measured (dropped: %d) ===%n",
+                rows, result.rate, result.durationSeconds, result.dropped.get());
+        out.printf(ROW, "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<Operation, Histogram> entry : result.latencies.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            long errors = result.errors.get(entry.getKey()).get();
+            total.add(histogram);
+            totalErrors += errors;
+            String endpoint = entry.getKey().name().toLowerCase(Locale.ROOT);
+            line(out, rows, result, endpoint, histogram, errors);
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(
+                    directory.resolve(rows + "-rows-" + result.rate + "-rps-" + endpoint + ".hgrm")))) {
+                histogram.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        line(out, rows, result, "total", total, totalErrors);
+    }
+
+    private void line(PrintStream out, int rows, OpenLoopDriver.PhaseResult result, String endpoint,
+                      Histogram histogram, long errors) {
+        double throughput = (double) histogram.getTotalCount() / result.durationSeconds;
+        double p50 = millis(histogram.getValueAtPercentile(50));
+        double p99 = millis(histogram.getValueAtPercentile(99));
+        double p999 = millis(histogram.getValueAtPercentile(99.9));
+        double max = millis(histogram.getMaxValue());
+        out.printf(ROW, endpoint, histogram.getTotalCount(), errors, format(throughput),
+                format(p50), format(p99), format(p999), format(max));
+        summary.printf(Locale.ROOT, "%d,%d,%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f%n", rows, result.rate, endpoint,
+                histogram.getTotalCount(), errors, result.dropped.get(), throughput, p50, p99, p999, max);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
@@ -0,0 +1,76 @@
+package com.college.management.loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load-test settings, read from loadtest.* system properties (the loadtest Maven profile forwards them).
+ */
+final class LoadTestConfig {
+
+    final int[] datasetSizes;
+    final int[] rates;
+    final int warmupSeconds;
+    final int durationSeconds;
+    final int departments;
+    final int maxInFlight;
+    final Map<Operation, Integer> mix;
+    final Path outputDirectory;
+
+    private LoadTestConfig(int[] datasetSizes, int[] rates, int warmupSeconds, int durationSeconds, int departments,
+                           int maxInFlight, Map<Operation, Integer> mix, Path outputDirectory) {
+        this.datasetSizes = datasetSizes;
+        this.rates = rates;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+        this.departments = departments;
+        this.maxInFlight = maxInFlight;
+        this.mix = mix;
+        this.outputDirectory = outputDirectory;
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        int[] datasetSizes = ints(property("rows", "10000,100000"));
+        Arrays.sort(datasetSizes);
+        return new LoadTestConfig(
+                datasetSizes,
+                ints(property("rates", "100,200,400")),
+                Integer.parseInt(property("warmup-seconds", "10")),
+                Integer.parseInt(property("duration-seconds", "30")),
+                Integer.parseInt(property("departments", "50")),
+                Integer.parseInt(property("max-in-flight", "2000")),
+                mix(property("mix", "get:50,department:10,salary:10,search:10,create:8,update:8,delete:4")),
+                Path.of(property("output", "target/loadtest")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static int[] ints(String csv) {
+        return Arrays.stream(csv.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    // "get:50,create:10" -> weights per operation; operations left out are not issued
+    private static Map<Operation, Integer> mix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Bad loadtest.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no operations");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,134 @@
+package com.college.management.loadtest;
+
+import com.college.management.StaffManagementSystemApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end load test of the StaffController API. Starts an embedded PostgreSQL and the application in
+ * this JVM, grows the staff table through each configured dataset size (seeding via the bulk import
+ * endpoint) and, at every size, drives the operation mix at each configured rate with OpenLoopDriver.
+ * Run through the loadtest Maven profile; see benchmarks/README.md.
+ */
+public final class LoadTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private static final int SEED_BATCH = 50_000;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // devtools is on the test classpath; its restarter would run this main a second time
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        LoadReport report = new LoadReport(config.outputDirectory);
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext application = start(postgres, config, args)) {
+            String port = application.getEnvironment().getProperty("local.server.port");
+            URI baseUri = URI.create("http://localhost:" + port + "/api/staff");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            DataSource database = postgres.getPostgresDatabase();
+
+            for (int rows : config.datasetSizes) {
+                seed(client, baseUri, database, rows, config.departments);
+                long[] ids = staffIds(database);
+                for (int rate : config.rates) {
+                    logger.info("Running {} req/s against {} rows", rate, ids.length);
+                    OpenLoopDriver driver = new OpenLoopDriver(client, new Workload(baseUri, ids, config), config);
+                    report.add(rows, driver.run(rate));
+                }
+            }
+        }
+        System.out.println("\nReports written to " + config.outputDirectory.toAbsolutePath());
+    }
+
+    // Passed as command-line arguments so they win over application.properties; extra arguments come last
+    private static ConfigurableApplicationContext start(EmbeddedPostgres postgres, LoadTestConfig config, String[] args) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres?reWriteBatchedInserts=true",
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.college.management=INFO",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--logging.file.name=" + config.outputDirectory.resolve("application.log")));
+        arguments.addAll(List.of(args));
+        return new SpringApplicationBuilder(StaffManagementSystemApplication.class).run(arguments.toArray(new String[0]));
+    }
+
+    // Tops the table up to the target size through the bulk endpoint's COPY path
+    private static void seed(HttpClient client, URI baseUri, DataSource database, int targetRows, int departments) throws Exception {
+        long start = System.nanoTime();
+        long suffix = count(database);
+        long missing = targetRows - suffix;
+        while (missing > 0) {
+            int batch = (int) Math.min(missing, SEED_BATCH);
+            StringBuilder csv = new StringBuilder("staffName,departmentId,salary\n");
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < batch; i++) {
+                csv.append(Workload.name(random, suffix++)).append(',')
+                        .append(Workload.FIRST_DEPARTMENT_ID + random.nextInt(departments)).append(',')
+                        .append(Workload.MIN_SALARY + random.nextInt(Workload.SALARY_SPREAD)).append('\n');
+            }
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUri + "/bulk?copy=true&chunkSize=10000"))
+                    .header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+            missing -= batch;
+        }
+        logger.info("Seeded to {} rows in {} ms", count(database), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static long count(DataSource database) throws SQLException {
+        try (Connection connection = database.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM staff")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static long[] staffIds(DataSource database) throws SQLException {
+        long[] ids = new long[1024];
+        int size = 0;
+        try (Connection connection = database.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT staff_id FROM staff")) {
+            while (resultSet.next()) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                ids[size++] = resultSet.getLong(1);
+            }
+        }
+        return Arrays.copyOf(ids, size);
+    }
+}
@@ -0,0 +1,105 @@
+package com.college.management.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Issues requests on a fixed schedule regardless of how fast responses come back (open loop).
+ * Latency is measured from each request's scheduled start, not from when it was actually sent, so a
+ * stalled server is charged for the requests that queued behind the stall (no coordinated omission).
+ * Requests that would exceed the in-flight cap are counted as dropped rather than delayed.
+ */
+final class OpenLoopDriver {
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final LoadTestConfig config;
+
+    OpenLoopDriver(HttpClient client, Workload workload, LoadTestConfig config) {
+        this.client = client;
+        this.workload = workload;
+        this.config = config;
+    }
+
+    PhaseResult run(int rate) throws InterruptedException {
+        PhaseResult result = new PhaseResult(rate, config.durationSeconds);
+        Semaphore inFlight = new Semaphore(config.maxInFlight);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = scheduled >= measureFrom;
+            Operation operation = workload.next();
+            HttpRequest request = workload.request(operation);
+            if (request == null) {
+                operation = Operation.CREATE;
+                request = workload.request(operation);
+            }
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    result.dropped.incrementAndGet();
+                }
+                continue;
+            }
+            Operation issued = operation;
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+                long latency = System.nanoTime() - scheduled;
+                inFlight.release();
+                if (response != null && issued == Operation.CREATE && response.statusCode() == 201) {
+                    workload.created(response.body());
+                }
+                if (measured) {
+                    result.record(issued, latency, error == null && response.statusCode() < 400);
+                }
+            });
+        }
+        // Let the stragglers finish so their latencies are counted
+        inFlight.tryAcquire(config.maxInFlight, 60, TimeUnit.SECONDS);
+        return result;
+    }
+
+    static final class PhaseResult {
+        final int rate;
+        final int durationSeconds;
+        final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+        final AtomicLong dropped = new AtomicLong();
+
+        PhaseResult(int rate, int durationSeconds) {
+            this.rate = rate;
+            this.durationSeconds = durationSeconds;
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new ConcurrentHistogram(3));
+                errors.put(operation, new AtomicLong());
+            }
+        }
+
+        // Latencies are recorded in microseconds
+        void record(Operation operation, long latencyNanos, boolean success) {
+            latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            if (!success) {
+                errors.get(operation).incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.college.management.loadtest;
+
+/**
+ * The StaffController calls the load generator issues. Salary reads use the bounded range endpoint, since
+ * GET /salary/{min} returns every matching row and would measure the payload size rather than the service.
+ */
+enum Operation {
+    GET,
+    DEPARTMENT,
+    SALARY,
+    SEARCH,
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,119 @@
+package com.college.management.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the next operation from the weighted mix and builds its request. Reads and updates target seeded
+ * rows; deletes only remove rows this workload created, so the seeded dataset keeps its size.
+ */
+final class Workload {
+
+    static final String[] FIRST_NAMES = {"Johnny", "Mary", "Ahmed", "Priya", "Chen", "Olga", "Diego", "Fatima", "Kwame", "Sofia"};
+    static final String[] LAST_NAMES = {"Walker", "Smith", "Khan", "Sharma", "Wei", "Ivanova", "Garcia", "Hassan", "Mensah", "Rossi"};
+    static final long FIRST_DEPARTMENT_ID = 100;
+    static final int MIN_SALARY = 20_000;
+    static final int SALARY_SPREAD = 100_000;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern STAFF_ID = Pattern.compile("\"staffId\"\\s*:\\s*(\\d+)");
+
+    private final URI baseUri;
+    private final long[] seededIds;
+    private final int departments;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+    Workload(URI baseUri, long[] seededIds, LoadTestConfig config) {
+        this.baseUri = baseUri;
+        this.seededIds = seededIds;
+        this.departments = config.departments;
+        this.operations = config.mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : config.mix.entrySet()) {
+            total += entry.getValue();
+            cumulativeWeights[i++] = total;
+        }
+    }
+
+    Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    // Returns null when the operation has nothing to act on (a delete before any create has completed)
+    HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case GET -> get("/" + seededId(random));
+            case DEPARTMENT -> get("/department/" + department(random));
+            case SALARY -> {
+                int min = MIN_SALARY + random.nextInt(SALARY_SPREAD);
+                yield get("/salary/range?min=" + min + "&max=" + (min + 500) + "&limit=100");
+            }
+            case SEARCH -> {
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)].toLowerCase();
+                String query = lastName.substring(0, 3 + random.nextInt(lastName.length() - 2));
+                yield get("/search?limit=20&name=" + URLEncoder.encode(query, StandardCharsets.UTF_8));
+            }
+            case CREATE -> builder("").POST(json(random)).build();
+            case UPDATE -> builder("/" + seededId(random)).PUT(json(random)).build();
+            case DELETE -> {
+                Long id = createdIds.poll();
+                yield id == null ? null : builder("/" + id).DELETE().build();
+            }
+        };
+    }
+
+    void created(String responseBody) {
+        Matcher matcher = STAFF_ID.matcher(responseBody);
+        if (matcher.find()) {
+            createdIds.add(Long.parseLong(matcher.group(1)));
+        }
+    }
+
+    static String name(ThreadLocalRandom random, long suffix) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + suffix;
+    }
+
+    private long seededId(ThreadLocalRandom random) {
+        return seededIds[random.nextInt(seededIds.length)];
+    }
+
+    private long department(ThreadLocalRandom random) {
+        return FIRST_DEPARTMENT_ID + random.nextInt(departments);
+    }
+
+    private HttpRequest.BodyPublisher json(ThreadLocalRandom random) {
+        return HttpRequest.BodyPublishers.ofString("{\"staffName\":\"" + name(random, random.nextInt(1_000_000))
+                + "\",\"departmentId\":" + department(random)
+                + ",\"salary\":" + (MIN_SALARY + random.nextInt(SALARY_SPREAD)) + "}");
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json");
+    }
+}
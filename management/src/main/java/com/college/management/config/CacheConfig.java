@@ -0,0 +1,29 @@
+package com.college.management.config;
+
+import com.college.management.service.StaffCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine caches for staff lookups. Each cache gets its own size/TTL spec so a few large department
+ * lists cannot push out single-entity entries. Set spring.cache.type=none to switch caching off.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> staffCacheCustomizer(
+            @Value("${staff.cache.staff.spec:maximumSize=10000,expireAfterWrite=10m}") String staffSpec,
+            @Value("${staff.cache.department.spec:maximumSize=500,expireAfterWrite=5m}") String departmentSpec) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(StaffCache.STAFF, Caffeine.from(staffSpec).recordStats().build());
+            cacheManager.registerCustomCache(StaffCache.STAFF_BY_DEPARTMENT, Caffeine.from(departmentSpec).recordStats().build());
+        };
+    }
+}
@@ -0,0 +1,153 @@
+package com.college.management.config;
+
+import com.college.management.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the connections the application holds at once at the size of the connection pool. With virtual threads
+ * the number of in-flight requests is effectively unbounded; excess callers park cheaply on this semaphore
+ * instead of piling up inside Hikari, and give up with a 503 after the acquire timeout.
+ * <p>
+ * The application's DataSource bean is wrapped, so every connection user is covered: transactions (which take
+ * their connection when they begin), JdbcTemplate, COPY imports and the outbox. A permit is taken when a
+ * connection is requested and given back when that connection is closed, so it is held for the whole
+ * transaction and while a streamed result is still being read. A thread that already holds a connection
+ * (REQUIRES_NEW, a query issued while streaming) opens further ones without a second permit, so it can never
+ * wait on itself.
+ */
+@Component
+@ConditionalOnProperty(name = "staff.db.limiter.enabled", havingValue = "true")
+public class DatabaseConcurrencyLimiter implements BeanPostProcessor, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConcurrencyLimiter.class);
+
+    // The application's DataSource: Boot's pool, or the routing proxy of ReadReplicaConfig
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // Connections open on this thread
+    private static final ThreadLocal<int[]> open = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public DatabaseConcurrencyLimiter(
+            @Value("${staff.db.limiter.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${staff.db.limiter.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        logger.info("Database connections limited to {} permits (acquire timeout {})", permits, acquireTimeout);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)) {
+            return limit(dataSource);
+        }
+        return bean;
+    }
+
+    // A DelegatingDataSource, so Boot still finds the Hikari pool underneath for its metrics
+    public DataSource limit(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return acquire(super::getConnection);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return acquire(() -> super.getConnection(username, password));
+            }
+        };
+    }
+
+    private Connection acquire(ConnectionSource source) throws SQLException {
+        int[] held = open.get();
+        boolean permit = held[0] == 0;
+        if (permit && !tryAcquire()) {
+            throw new DatabaseBusyException("Database is busy, please retry");
+        }
+        Connection connection;
+        try {
+            connection = source.connect();
+        } catch (SQLException | RuntimeException | Error ex) {
+            if (permit) {
+                permits.release();
+            }
+            throw ex;
+        }
+        held[0]++;
+        return released(connection, held, permit);
+    }
+
+    private boolean tryAcquire() throws SQLException {
+        try {
+            return permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", ex);
+        }
+    }
+
+    // The permit goes back on the first close, whichever thread closes the connection
+    private Connection released(Connection connection, int[] held, boolean permit) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("equals".equals(method.getName())) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName())) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0 && closed.compareAndSet(false, true)) {
+                        held[0]--;
+                        if (permit) {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("staff.db.limiter.available", permits, Semaphore::availablePermits)
+                .description("Free connection permits")
+                .register(registry);
+        Gauge.builder("staff.db.limiter.waiting", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a connection permit")
+                .register(registry);
+    }
+
+    private interface ConnectionSource {
+        Connection connect() throws SQLException;
+    }
+}
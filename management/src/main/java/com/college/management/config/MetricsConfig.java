@@ -0,0 +1,26 @@
+package com.college.management.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meters on top of what Actuator binds automatically (http.server.requests per endpoint, hikaricp.* pool
+ * meters and hibernate.* statistics) and RepositoryMetrics: the number of statements Hibernate has
+ * flagged as slow.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder hibernateSlowQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> Gauge.builder("hibernate.query.slow", statistics, stats -> stats.getSlowQueries().size())
+                .description("Distinct SQL statements that took longer than hibernate.log_slow_query")
+                .register(registry);
+    }
+}
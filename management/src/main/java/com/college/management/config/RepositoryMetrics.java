@@ -0,0 +1,64 @@
+package com.college.management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every StaffRepository call as staff.repository.invocations, tagged by method and outcome.
+ * Used instead of Spring Data's own repository metrics (switched off in application.properties), whose
+ * per-invocation listener cost about 1 ms of CPU per request under load; here the timers are looked
+ * up once per method and each call costs a map lookup plus a timer update.
+ * Time spent waiting for a DatabaseConcurrencyLimiter permit is not included when the transaction took its
+ * connection before the call.
+ * For methods returning a Stream the timer covers running the query, not consuming the rows.
+ */
+@Aspect
+@Component
+@Order(1)
+public class RepositoryMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.college.management.repository.StaffRepository.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer[] methodTimers = timers.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::register);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            methodTimers[success ? 0 : 1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] register(Method method) {
+        return new Timer[]{timer(method, "SUCCESS"), timer(method, "ERROR")};
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return Timer.builder("staff.repository.invocations")
+                .description("StaffRepository method calls")
+                .tag("repository", "StaffRepository")
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,115 @@
+package com.college.management.config;
+
+import com.college.management.entity.Staff;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes Staff and collections of Staff as Protobuf (application/x-protobuf) following the published
+ * schema in static/proto/staff.proto: a Staff message, or a StaffList wrapping the collection. Encoding
+ * goes through Jackson's protobuf backend, so no generated classes are needed; write-only, as the
+ * consumers asking for it only read.
+ */
+public class StaffProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+    public static final String SCHEMA_LOCATION = "static/proto/staff.proto";
+
+    private final ObjectWriter staffWriter;
+    private final ObjectWriter staffListWriter;
+
+    public StaffProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+        NativeProtobufSchema schema = loadSchema();
+        ProtobufMapper mapper = new ProtobufMapper();
+        this.staffWriter = mapper.writerFor(Staff.class).with(schema.forType("Staff"));
+        this.staffListWriter = mapper.writerFor(StaffList.class).with(schema.forType("StaffList"));
+    }
+
+    private static NativeProtobufSchema loadSchema() {
+        try (InputStream in = new ClassPathResource(SCHEMA_LOCATION).getInputStream()) {
+            return ProtobufSchemaLoader.std.loadNative(in, true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to load " + SCHEMA_LOCATION, ex);
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Staff.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && (supports(clazz) || isStaffCollection(type));
+    }
+
+    // Asked with the raw value class only; the element type has already been checked by canWrite
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) || Collection.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    private static boolean isStaffCollection(Type type) {
+        if (type == null) {
+            return false;
+        }
+        JavaType javaType = TypeFactory.defaultInstance().constructType(type);
+        return javaType.isCollectionLikeType() && Staff.class.isAssignableFrom(javaType.getContentType().getRawClass());
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        // Jackson closes the target after writeValue; the response stream belongs to the container
+        OutputStream out = StreamUtils.nonClosing(outputMessage.getBody());
+        if (body instanceof Staff staff) {
+            staffWriter.writeValue(out, staff);
+        } else {
+            staffListWriter.writeValue(out, new StaffList((Collection<Staff>) body));
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    // Mirrors the StaffList message
+    record StaffList(Collection<Staff> staff) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.college.management.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Sends a few rounds of typical requests to this instance before it reports ready (runners finish before
+ * the readiness state switches to ACCEPTING_TRAFFIC), so the first real clients do not pay for Hibernate
+ * query plan compilation, Jackson serializer construction, connection pool fill and the cold MVC path.
+ * Only reads and a rejected (invalid) create are sent; nothing is written. The requests show up in the
+ * http.server.requests metrics like any other.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final List<String> READS = List.of(
+            "/api/staff/page?size=50",
+            "/api/staff/salary/range?min=0&max=100000&limit=50",
+            "/api/staff/salary/top?limit=10",
+            "/api/staff/search?name=a&limit=10",
+            "/api/staff?ids=1,2,3",
+            "/api/staff/salary/top?limit=10&fields=staffId,staffName",
+            "/api/staff/0");
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${staff.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${staff.warmup.iterations:5}")
+    private int iterations = 5;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String port = environment.getProperty("local.server.port");
+        if (!enabled || port == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        URI base = URI.create("http://localhost:" + port);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        int sent = 0;
+        try {
+            for (int i = 0; i < iterations; i++) {
+                for (String path : READS) {
+                    send(client, HttpRequest.newBuilder(base.resolve(path)).GET());
+                    sent++;
+                }
+                // Blank name: deserialized and validated, then rejected with 400 before any write
+                send(client, HttpRequest.newBuilder(base.resolve("/api/staff"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"staffName\":\"\",\"departmentId\":1,\"salary\":1.0}")));
+                sent++;
+            }
+        } catch (IOException ex) {
+            logger.warn("Startup warmup stopped after {} requests: {}", sent, ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Startup warmup sent {} requests in {} ms", sent, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void send(HttpClient client, HttpRequest.Builder request) throws IOException, InterruptedException {
+        client.send(request.header("Accept-Encoding", "gzip").timeout(Duration.ofSeconds(10)).build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+}
@@ -0,0 +1,272 @@
+package com.college.management.config;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * zstd response compression for clients that send Accept-Encoding: zstd; everyone else falls through to
+ * Tomcat's gzip (server.compression.*), which leaves responses that already carry a Content-Encoding
+ * alone. The body is held back until it reaches min-response-size, so small responses go out
+ * uncompressed with their Content-Length. Flushes before that point are held back too, which delays the
+ * first rows of a streamed listing by at most min-response-size bytes; types outside server.compression.mime-types
+ * (such as text/event-stream) pass straight through.
+ * Streamed responses finish on the async dispatch, hence that dispatch is filtered too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "staff.compression.zstd.enabled", havingValue = "true")
+public class ZstdCompressionFilter extends OncePerRequestFilter {
+
+    @Value("${server.compression.min-response-size:2KB}")
+    private DataSize minResponseSize = DataSize.ofKilobytes(2);
+
+    @Value("${server.compression.mime-types:application/json}")
+    private List<String> mimeTypes = List.of("application/json");
+
+    @Value("${staff.compression.zstd.level:3}")
+    private int level = 3;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ZstdResponse zstdResponse = WebUtils.getNativeResponse(response, ZstdResponse.class);
+        if (zstdResponse == null) {
+            if (!acceptsZstd(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+                chain.doFilter(request, response);
+                return;
+            }
+            zstdResponse = new ZstdResponse(response);
+        }
+        chain.doFilter(request, zstdResponse);
+        if (!request.isAsyncStarted()) {
+            zstdResponse.finish();
+        }
+    }
+
+    static boolean acceptsZstd(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("zstd")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private boolean compressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.split(";")[0].trim();
+        return mimeTypes.stream().anyMatch(mimeType -> mimeType.trim().equalsIgnoreCase(type));
+    }
+
+    // ==================== RESPONSE WRAPPER ====================
+    private final class ZstdResponse extends HttpServletResponseWrapper {
+
+        private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private OutputStream target;
+        private long contentLength = -1;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        ZstdResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        write(new byte[]{(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) throws IOException {
+                        ZstdResponse.this.write(bytes, offset, length);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        ZstdResponse.this.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        throw new UnsupportedOperationException("Non-blocking writes are not supported with zstd");
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        // The length is only known to be right if the body goes out as written
+        @Override
+        public void setContentLength(int length) {
+            setContentLengthLong(length);
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            if (target == null) {
+                contentLength = length;
+            } else if (!(target instanceof ZstdOutputStream)) {
+                super.setContentLengthLong(length);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value == null ? -1 : Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            // Committing now would send the headers before the encoding is known
+            passThroughIfIncompressible();
+            if (target != null) {
+                flush();
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (target == null) {
+                pending.reset();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (target == null) {
+                pending.reset();
+                contentLength = -1;
+            }
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            passThroughIfIncompressible();
+            if (target != null) {
+                target.write(bytes, offset, length);
+                return;
+            }
+            pending.write(bytes, offset, length);
+            if (pending.size() >= minResponseSize.toBytes()) {
+                decide(true);
+            }
+        }
+
+        private void flush() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            passThroughIfIncompressible();
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        // Bodies that will not be compressed anyway (event streams among them) are never held back
+        private void passThroughIfIncompressible() throws IOException {
+            if (target == null && getContentType() != null && !compressible(getContentType())) {
+                decide(false);
+            }
+        }
+
+        private void decide(boolean large) throws IOException {
+            boolean compress = large && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                    && getStatus() != HttpServletResponse.SC_NO_CONTENT && getStatus() != HttpServletResponse.SC_NOT_MODIFIED
+                    && compressible(getContentType());
+            if (compress) {
+                super.setHeader(HttpHeaders.CONTENT_ENCODING, "zstd");
+                super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                target = new ZstdOutputStream(super.getOutputStream(), level);
+            } else {
+                if (contentLength >= 0) {
+                    super.setContentLengthLong(contentLength);
+                }
+                target = super.getOutputStream();
+            }
+            pending.writeTo(target);
+            pending = null;
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target == null) {
+                if (pending.size() == 0) {
+                    return;
+                }
+                decide(false);
+            }
+            if (target instanceof ZstdOutputStream zstd) {
+                zstd.close();
+            } else {
+                target.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.college.management.controller;
+
+import com.college.management.dto.DepartmentPayroll;
+import com.college.management.service.StaffService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/staff/analytics")
+@CrossOrigin(origins = "*")
+@Tag(name = "Payroll Analytics", description = "Department payroll aggregates served from an in-memory snapshot")
+public class PayrollAnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollAnalyticsController.class);
+
+    @Autowired
+    private StaffService staffService;
+
+    // ==================== PAYROLL BY DEPARTMENT ====================
+    @Operation(summary = "Get payroll aggregates for every department",
+            description = "Headcount, total/average/min/max salary and salary percentiles per department, ordered by department ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully computed payroll aggregates"),
+            @ApiResponse(responseCode = "400", description = "Percentile outside 0-100")
+    })
+    @GetMapping("/departments")
+    public ResponseEntity<List<DepartmentPayroll>> getPayrollByDepartment(
+            @Parameter(description = "Salary percentiles to compute (0-100)")
+            @RequestParam(defaultValue = "50,90,99") double[] percentiles) {
+        logger.info("Computing payroll aggregates for all departments");
+        return ResponseEntity.ok(staffService.getPayrollByDepartment(percentiles));
+    }
+
+    @Operation(summary = "Get payroll aggregates for one department",
+            description = "Headcount, total/average/min/max salary and salary percentiles of a department")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully computed payroll aggregates"),
+            @ApiResponse(responseCode = "400", description = "Percentile outside 0-100"),
+            @ApiResponse(responseCode = "404", description = "Department has no staff")
+    })
+    @GetMapping("/departments/{departmentId}")
+    public ResponseEntity<DepartmentPayroll> getDepartmentPayroll(
+            @Parameter(description = "Department ID", required = true)
+            @PathVariable Long departmentId,
+            @Parameter(description = "Salary percentiles to compute (0-100)")
+            @RequestParam(defaultValue = "50,90,99") double[] percentiles) {
+        logger.info("Computing payroll aggregates for department ID: {}", departmentId);
+        return ResponseEntity.ok(staffService.getDepartmentPayroll(departmentId, percentiles));
+    }
+}
@@ -1,7 +1,25 @@
 package com.college.management.controller;
 
+import com.college.management.dto.BulkImportResult;
+import com.college.management.dto.CacheStatistics;
+import com.college.management.dto.StaffBatchOperation;
+import com.college.management.dto.StaffBatchResult;
+import com.college.management.dto.StaffChange;
+import com.college.management.dto.StaffCursor;
+import com.college.management.dto.StaffField;
+import com.college.management.dto.StaffPage;
+import com.college.management.dto.StaffPatch;
+import com.college.management.dto.StaffView;
 import com.college.management.entity.Staff;
+import com.college.management.service.ImportFormat;
+import com.college.management.service.StaffBatchService;
+import com.college.management.service.StaffCache;
+import com.college.management.service.StaffChangeFeed;
+import com.college.management.service.StaffImportService;
 import com.college.management.service.StaffService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,12 +31,30 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/staff")
@@ -28,35 +64,112 @@ public class StaffController {
 
     private static final Logger logger = LoggerFactory.getLogger(StaffController.class);
 
+    private static final String FIELDS_DESCRIPTION = "Comma-separated properties to return (staffId, staffName, departmentId, "
+            + "salary, version); only those columns are read. Omit for full staff members";
+
+    // Listings answer fields= from a handler of their own (params = "fields") returning StaffView. The full-entity
+    // handlers keep their List<Staff> return type, which is what the protobuf converter recognises.
+
     @Autowired
     private StaffService staffService;
 
+    @Autowired
+    private StaffImportService staffImportService;
+
+    @Autowired
+    private StaffBatchService staffBatchService;
+
+    @Autowired
+    private StaffCache staffCache;
+
+    @Autowired
+    private StaffChangeFeed staffChangeFeed;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${staff.http.max-age:0s}")
+    private Duration maxAge = Duration.ZERO;
+
+    @Value("${staff.pagination.max-size:1000}")
+    private int maxPageSize = 1000;
+
+    @Value("${staff.pagination.stream-timeout:1h}")
+    private Duration streamTimeout = Duration.ofHours(1);
+
+    @Value("${staff.import.chunk-size:1000}")
+    private int defaultImportChunkSize;
+
     // ==================== GET ALL STAFF ====================
     @Operation(summary = "Get all staff members",
-            description = "Retrieves a list of all staff members in the system")
+            description = "Retrieves staff members ordered by ID, at most the page size limit of them. When there may be more, "
+                    + "a Link header (rel=\"next\") points to the paged listing that continues after the last one")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved all staff members",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Staff.class)))
     @GetMapping
     public ResponseEntity<List<Staff>> getAllStaff() {
         logger.info("Fetching all staff members");
         List<Staff> staffList = staffService.getAllStaff();
-        return ResponseEntity.ok(staffList);
+        Long lastId = staffList.isEmpty() ? null : staffList.get(staffList.size() - 1).getStaffId();
+        return withNextLink(staffList.size(), lastId).body(staffList);
+    }
+
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<StaffView>> getAllStaff(
+            @Parameter(description = FIELDS_DESCRIPTION, example = "staffId,staffName", required = true)
+            @RequestParam String fields) {
+        logger.info("Fetching all staff members");
+        Set<StaffField> selected = selectedFields(fields);
+        List<StaffView> views = staffService.getAllStaff(selected);
+        Long lastId = views.isEmpty() ? null : views.get(views.size() - 1).getStaffId();
+        List<StaffView> staffList = selected.contains(StaffField.STAFF_ID) ? views : views.stream().map(StaffView::withoutStaffId).toList();
+        return withNextLink(staffList.size(), lastId).body(staffList);
+    }
+
+    // A full listing may have been cut at the page size limit; the paged listing continues after its last id
+    private ResponseEntity.BodyBuilder withNextLink(int size, Long lastId) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (size >= maxPageSize) {
+            response.header(HttpHeaders.LINK, "</api/staff/page?cursor=" + StaffCursor.encode(lastId)
+                    + "&size=" + maxPageSize + ">; rel=\"next\"");
+        }
+        return response;
     }
 
     // ==================== GET STAFF BY ID ====================
     @Operation(summary = "Get staff by ID",
             description = "Retrieves a specific staff member by their unique ID")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Staff member found"),
+            @ApiResponse(responseCode = "200", description = "Staff member found; the ETag is derived from the row"),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Staff member not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<Staff> getStaffById(
             @Parameter(description = "ID of the staff member to retrieve", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
         logger.info("Fetching staff with ID: {}", id);
         Optional<Staff> staff = staffService.getStaffById(id);
-        return ResponseEntity.ok(staff.get());
+        if (webRequest.checkNotModified(contentTag(List.of(staff.get())))) {
+            return notModified();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl()).varyBy(HttpHeaders.ACCEPT).body(staff.get());
+    }
+
+    // ==================== GET STAFF BY IDS ====================
+    @Operation(summary = "Get staff by IDs",
+            description = "Retrieves several staff members in one call, in the order of the given IDs; unknown IDs are left out")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Found staff members"),
+            @ApiResponse(responseCode = "400", description = "No IDs, or more than the page size limit")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Staff>> getStaffByIds(
+            @Parameter(description = "Comma-separated staff IDs", required = true, example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        logger.info("Fetching {} staff members by ID", ids.size());
+        return ResponseEntity.ok(staffService.getStaffByIds(ids));
     }
 
     // ==================== CREATE NEW STAFF ====================
@@ -81,6 +194,7 @@ public class StaffController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Staff member updated successfully"),
             @ApiResponse(responseCode = "404", description = "Staff member not found"),
+            @ApiResponse(responseCode = "409", description = "The body's version no longer matches the stored row"),
             @ApiResponse(responseCode = "400", description = "Invalid input data")
     })
     @PutMapping("/{id}")
@@ -93,33 +207,77 @@ public class StaffController {
         return ResponseEntity.ok(updatedStaff);
     }
 
+    // ==================== PATCH STAFF ====================
+    @Operation(summary = "Partially update staff member",
+            description = "Changes only the fields present in the body; include version to fail instead of overwriting a concurrent change")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Staff member updated successfully"),
+            @ApiResponse(responseCode = "404", description = "Staff member not found"),
+            @ApiResponse(responseCode = "409", description = "The body's version no longer matches the stored row"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data")
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<Staff> patchStaff(
+            @Parameter(description = "ID of the staff member to update", required = true)
+            @PathVariable Long id,
+            @Valid @RequestBody StaffPatch patch) {
+        logger.info("Patching staff with ID: {}", id);
+        return ResponseEntity.ok(staffService.patchStaff(id, patch));
+    }
+
     // ==================== DELETE STAFF ====================
     @Operation(summary = "Delete staff member",
             description = "Deletes a staff member from the system")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Staff member deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "Staff member not found")
+            @ApiResponse(responseCode = "404", description = "Staff member not found"),
+            @ApiResponse(responseCode = "409", description = "The given version no longer matches the stored row")
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteStaff(
             @Parameter(description = "ID of the staff member to delete", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "Expected current version; omit to delete unconditionally")
+            @RequestParam(required = false) Long version) {
         logger.info("Deleting staff with ID: {}", id);
-        staffService.deleteStaff(id);
+        staffService.deleteStaff(id, version);
         return ResponseEntity.noContent().build();
     }
 
     // ==================== GET STAFF BY DEPARTMENT ====================
     @Operation(summary = "Get staff by department",
             description = "Retrieves all staff members belonging to a specific department")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved staff by department")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved staff by department (empty list when the department has no staff); the ETag is derived from the rows"),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match")
+    })
     @GetMapping("/department/{departmentId}")
     public ResponseEntity<List<Staff>> getStaffByDepartment(
             @Parameter(description = "Department ID to filter staff", required = true)
-            @PathVariable Long departmentId) {
+            @PathVariable Long departmentId,
+            WebRequest webRequest) {
         logger.info("Fetching staff for department ID: {}", departmentId);
         List<Staff> staffList = staffService.getStaffByDepartment(departmentId);
-        return ResponseEntity.ok(staffList);
+        if (webRequest.checkNotModified(contentTag(staffList))) {
+            return notModified();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl()).varyBy(HttpHeaders.ACCEPT).body(staffList);
+    }
+
+    @GetMapping(value = "/department/{departmentId}", params = "fields")
+    public ResponseEntity<List<StaffView>> getStaffByDepartment(
+            @Parameter(description = "Department ID to filter staff", required = true)
+            @PathVariable Long departmentId,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "staffId,staffName", required = true)
+            @RequestParam String fields,
+            WebRequest webRequest) {
+        logger.info("Fetching staff for department ID: {}", departmentId);
+        Set<StaffField> selected = selectedFields(fields);
+        List<Staff> staffList = staffService.getStaffByDepartment(departmentId);
+        if (webRequest.checkNotModified(contentTag(staffList))) {
+            return notModified();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl()).varyBy(HttpHeaders.ACCEPT).body(views(staffList, selected));
     }
 
     // ==================== GET STAFF BY MINIMUM SALARY ====================
@@ -131,20 +289,399 @@ public class StaffController {
             @Parameter(description = "Minimum salary threshold", required = true)
             @PathVariable Double minSalary) {
         logger.info("Fetching staff with minimum salary: {}", minSalary);
-        List<Staff> staffList = staffService.getStaffByMinimumSalary(minSalary);
-        return ResponseEntity.ok(staffList);
+        return ResponseEntity.ok(staffService.getStaffByMinimumSalary(minSalary));
+    }
+
+    @GetMapping(value = "/salary/{minSalary}", params = "fields")
+    public ResponseEntity<List<StaffView>> getStaffByMinimumSalary(
+            @Parameter(description = "Minimum salary threshold", required = true)
+            @PathVariable Double minSalary,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "staffId,staffName", required = true)
+            @RequestParam String fields) {
+        logger.info("Fetching staff with minimum salary: {}", minSalary);
+        return ResponseEntity.ok(staffService.getStaffByMinimumSalary(minSalary, selectedFields(fields)));
+    }
+
+    // ==================== GET STAFF BY SALARY RANGE ====================
+    @Operation(summary = "Get staff by salary range",
+            description = "Retrieves staff members with salary between min and max (inclusive), lowest salary first, up to limit rows")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved staff by salary range"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or limit")
+    })
+    @GetMapping("/salary/range")
+    public ResponseEntity<List<Staff>> getStaffBySalaryRange(
+            @Parameter(description = "Minimum salary (inclusive)", required = true)
+            @RequestParam Double min,
+            @Parameter(description = "Maximum salary (inclusive)", required = true)
+            @RequestParam Double max,
+            @Parameter(description = "Maximum number of staff members to return")
+            @RequestParam(defaultValue = "100") int limit) {
+        logger.info("Fetching staff with salary between {} and {}", min, max);
+        return ResponseEntity.ok(staffService.getStaffBySalaryRange(min, max, limit));
+    }
+
+    @GetMapping(value = "/salary/range", params = "fields")
+    public ResponseEntity<List<StaffView>> getStaffBySalaryRange(
+            @Parameter(description = "Minimum salary (inclusive)", required = true)
+            @RequestParam Double min,
+            @Parameter(description = "Maximum salary (inclusive)", required = true)
+            @RequestParam Double max,
+            @Parameter(description = "Maximum number of staff members to return")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "staffId,staffName", required = true)
+            @RequestParam String fields) {
+        logger.info("Fetching staff with salary between {} and {}", min, max);
+        return ResponseEntity.ok(staffService.getStaffBySalaryRange(min, max, limit, selectedFields(fields)));
+    }
+
+    // ==================== GET TOP EARNERS ====================
+    @Operation(summary = "Get top earners",
+            description = "Retrieves the N highest-paid staff members, highest salary first")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved top earners")
+    @GetMapping("/salary/top")
+    public ResponseEntity<List<Staff>> getTopEarners(
+            @Parameter(description = "Number of staff members to return")
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Fetching top {} earners", limit);
+        return ResponseEntity.ok(staffService.getTopEarners(limit));
+    }
+
+    @GetMapping(value = "/salary/top", params = "fields")
+    public ResponseEntity<List<StaffView>> getTopEarners(
+            @Parameter(description = "Number of staff members to return")
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "staffId,staffName", required = true)
+            @RequestParam String fields) {
+        logger.info("Fetching top {} earners", limit);
+        return ResponseEntity.ok(staffService.getTopEarners(limit, selectedFields(fields)));
+    }
+
+    @Operation(summary = "Get top earners by department",
+            description = "Retrieves the N highest-paid staff members of a department, highest salary first")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved top earners of the department")
+    @GetMapping("/department/{departmentId}/salary/top")
+    public ResponseEntity<List<Staff>> getTopEarnersByDepartment(
+            @Parameter(description = "Department ID to filter staff", required = true)
+            @PathVariable Long departmentId,
+            @Parameter(description = "Number of staff members to return")
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Fetching top {} earners for department ID: {}", limit, departmentId);
+        return ResponseEntity.ok(staffService.getTopEarnersByDepartment(departmentId, limit));
+    }
+
+    @GetMapping(value = "/department/{departmentId}/salary/top", params = "fields")
+    public ResponseEntity<List<StaffView>> getTopEarnersByDepartment(
+            @Parameter(description = "Department ID to filter staff", required = true)
+            @PathVariable Long departmentId,
+            @Parameter(description = "Number of staff members to return")
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "staffId,staffName", required = true)
+            @RequestParam String fields) {
+        logger.info("Fetching top {} earners for department ID: {}", limit, departmentId);
+        return ResponseEntity.ok(staffService.getTopEarnersByDepartment(departmentId, limit, selectedFields(fields)));
     }
 
     // ==================== SEARCH STAFF BY NAME ====================
     @Operation(summary = "Search staff by name",
-            description = "Searches for staff members by name (case-insensitive partial match)")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved matching staff members")
+            description = "Searches for staff members by name (case-insensitive). Results are ranked: exact, prefix, word prefix, substring, then fuzzy matches")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved matching staff members (empty list when nothing matches)")
     @GetMapping("/search")
     public ResponseEntity<List<Staff>> searchStaffByName(
             @Parameter(description = "Name to search for (partial match supported)", required = true)
-            @RequestParam String name) {
+            @RequestParam String name,
+            @Parameter(description = "Maximum number of results")
+            @RequestParam(defaultValue = "${staff.search.default-limit:50}") int limit) {
+        logger.info("Searching staff by name: {}", name);
+        return ResponseEntity.ok(staffService.searchStaffByName(name, limit));
+    }
+
+    @GetMapping(value = "/search", params = "fields")
+    public ResponseEntity<List<StaffView>> searchStaffByName(
+            @Parameter(description = "Name to search for (partial match supported)", required = true)
+            @RequestParam String name,
+            @Parameter(description = "Maximum number of results")
+            @RequestParam(defaultValue = "${staff.search.default-limit:50}") int limit,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "staffId,staffName", required = true)
+            @RequestParam String fields) {
         logger.info("Searching staff by name: {}", name);
-        List<Staff> staffList = staffService.searchStaffByName(name);
-        return ResponseEntity.ok(staffList);
+        return ResponseEntity.ok(staffService.searchStaffByName(name, limit, selectedFields(fields)));
+    }
+
+    // ==================== BATCH OPERATIONS ====================
+    @Operation(summary = "Run a batch of create/update/patch/delete operations",
+            description = "Validates all operations up front, then runs them in order in one transaction, sending consecutive "
+                    + "operations of the same kind as one JDBC batch. Atomic batches roll back entirely if any operation fails; "
+                    + "otherwise failures are reported per operation and the rest commit")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch committed; see per-operation results for failures"),
+            @ApiResponse(responseCode = "422", description = "Atomic batch rolled back; see per-operation results for the cause"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<StaffBatchResult> executeBatch(
+            @Parameter(description = "Roll back the whole batch when any operation fails")
+            @RequestParam(defaultValue = "true") boolean atomic,
+            @RequestBody List<StaffBatchOperation> operations) {
+        logger.info("Executing batch of {} operations (atomic={})", operations.size(), atomic);
+        StaffBatchResult result = staffBatchService.execute(operations, atomic);
+        return ResponseEntity.status(result.isCommitted() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY).body(result);
+    }
+
+    // ==================== BULK IMPORT ====================
+    @Operation(summary = "Bulk import staff from CSV",
+            description = "Imports staff from a CSV file with a staffName,departmentId,salary header. Rows are committed in chunks; invalid rows are reported per chunk and skipped")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import finished; see per-chunk results for rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Unreadable file or invalid chunk size")
+    })
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<BulkImportResult> importStaffCsv(
+            @Parameter(description = "Rows committed per transaction; defaults to staff.import.chunk-size")
+            @RequestParam(required = false) Integer chunkSize,
+            @Parameter(description = "Use the PostgreSQL COPY FROM STDIN fast path for very large files")
+            @RequestParam(defaultValue = "false") boolean copy,
+            InputStream body) {
+        logger.info("Bulk importing staff from CSV (copy={})", copy);
+        return ResponseEntity.ok(staffImportService.importStaff(body, ImportFormat.CSV, importChunkSize(chunkSize), copy));
+    }
+
+    @Operation(summary = "Bulk import staff from a JSON array",
+            description = "Imports a JSON array of staff members. Rows are committed in chunks; invalid rows are reported per chunk and skipped")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import finished; see per-chunk results for rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Unreadable file or invalid chunk size")
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResult> importStaffJson(
+            @Parameter(description = "Rows committed per transaction; defaults to staff.import.chunk-size")
+            @RequestParam(required = false) Integer chunkSize,
+            @Parameter(description = "Use the PostgreSQL COPY FROM STDIN fast path for very large files")
+            @RequestParam(defaultValue = "false") boolean copy,
+            InputStream body) {
+        logger.info("Bulk importing staff from JSON (copy={})", copy);
+        return ResponseEntity.ok(staffImportService.importStaff(body, ImportFormat.JSON, importChunkSize(chunkSize), copy));
+    }
+
+    // ==================== CONDITIONAL GET ====================
+    // checkNotModified has already written the ETag (and the 304 status), so responses only add Cache-Control.
+    // There is no Last-Modified: staff rows carry no modification time to derive it from, so validation is by
+    // ETag alone. The ETag is the same for every representation (JSON, CBOR, Smile, protobuf), hence Vary: Accept
+    private <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl()).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    // Derived from the rows being served (one for a single staff member, a department's for its list), so it can
+    // never claim a state the body does not have, whichever instance or cache the rows came from. Each row contributes a 64-bit mix of its id, version and contents, and the
+    // contributions are summed, so the tag does not depend on row order; writes that bypass the version column
+    // still change it
+    static String contentTag(List<Staff> staffList) {
+        long sum = 0;
+        for (Staff staff : staffList) {
+            long version = staff.getVersion() != null ? staff.getVersion() : 0;
+            long row = mix(staff.getStaffId() * 0x9E3779B97F4A7C15L + version);
+            row += 31L * staff.getStaffName().hashCode() + Double.doubleToLongBits(staff.getSalary());
+            sum += mix(row);
+        }
+        return "W/\"" + staffList.size() + '-' + Long.toHexString(sum) + '"';
+    }
+
+    // Finalizer of MurmurHash3's 64-bit variant
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    // An empty fields= asks for every property
+    private static Set<StaffField> selectedFields(String fields) {
+        Set<StaffField> selected = StaffField.parse(fields);
+        return selected != null ? selected : EnumSet.allOf(StaffField.class);
+    }
+
+    // Department lists are cached as entities (and needed whole for the tag); projecting them beats a narrower query
+    private static List<StaffView> views(List<Staff> staffList, Set<StaffField> fields) {
+        List<StaffView> views = new ArrayList<>(staffList.size());
+        for (Staff staff : staffList) {
+            views.add(StaffView.of(staff, fields));
+        }
+        return views;
+    }
+
+    // Clients may reuse a response for max-age, then must revalidate; 0 means revalidate every time
+    private CacheControl cacheControl() {
+        return maxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(maxAge).mustRevalidate();
+    }
+
+    private int importChunkSize(Integer chunkSize) {
+        return chunkSize != null ? chunkSize : defaultImportChunkSize;
+    }
+
+    // ==================== PAGED LISTINGS ====================
+    @Operation(summary = "Get a page of staff members",
+            description = "Retrieves staff members ordered by ID, one page at a time. Pass the returned 'next' cursor to fetch the following page")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    @GetMapping("/page")
+    public ResponseEntity<StaffPage> getStaffPage(
+            @Parameter(description = "Cursor returned as 'next' by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of staff members per page")
+            @RequestParam(defaultValue = "50") int size) {
+        logger.info("Fetching staff page after cursor: {}, size: {}", cursor, size);
+        return ResponseEntity.ok(staffService.getStaffPage(cursor, size));
+    }
+
+    @Operation(summary = "Get a page of staff by department",
+            description = "Retrieves staff members of a department ordered by ID, one page at a time")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    @GetMapping("/department/{departmentId}/page")
+    public ResponseEntity<StaffPage> getStaffByDepartmentPage(
+            @Parameter(description = "Department ID to filter staff", required = true)
+            @PathVariable Long departmentId,
+            @Parameter(description = "Cursor returned as 'next' by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of staff members per page")
+            @RequestParam(defaultValue = "50") int size) {
+        logger.info("Fetching staff page for department ID: {} after cursor: {}", departmentId, cursor);
+        return ResponseEntity.ok(staffService.getStaffByDepartmentPage(departmentId, cursor, size));
+    }
+
+    @Operation(summary = "Get a page of staff by minimum salary",
+            description = "Retrieves staff members with salary greater than or equal to the threshold, ordered by ID, one page at a time")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    @GetMapping("/salary/{minSalary}/page")
+    public ResponseEntity<StaffPage> getStaffByMinimumSalaryPage(
+            @Parameter(description = "Minimum salary threshold", required = true)
+            @PathVariable Double minSalary,
+            @Parameter(description = "Cursor returned as 'next' by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of staff members per page")
+            @RequestParam(defaultValue = "50") int size) {
+        logger.info("Fetching staff page with minimum salary: {} after cursor: {}", minSalary, cursor);
+        return ResponseEntity.ok(staffService.getStaffByMinimumSalaryPage(minSalary, cursor, size));
+    }
+
+    // ==================== STREAMED LISTINGS (NDJSON) ====================
+    @Operation(summary = "Stream all staff members",
+            description = "Streams every staff member as newline-delimited JSON, one object per line, without buffering the full list")
+    @ApiResponse(responseCode = "200", description = "Stream of staff members",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = Staff.class)))
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllStaff(WebRequest webRequest) {
+        logger.info("Streaming all staff members");
+        return ndjson(webRequest, staffService::streamAllStaff);
+    }
+
+    @Operation(summary = "Stream staff by department",
+            description = "Streams staff members of a department as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "Stream of staff members",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = Staff.class)))
+    @GetMapping(value = "/department/{departmentId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStaffByDepartment(
+            @Parameter(description = "Department ID to filter staff", required = true)
+            @PathVariable Long departmentId,
+            WebRequest webRequest) {
+        logger.info("Streaming staff for department ID: {}", departmentId);
+        return ndjson(webRequest, consumer -> staffService.streamStaffByDepartment(departmentId, consumer));
+    }
+
+    @Operation(summary = "Stream staff by minimum salary",
+            description = "Streams staff members with salary greater than or equal to the threshold as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "Stream of staff members",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = Staff.class)))
+    @GetMapping(value = "/salary/{minSalary}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStaffByMinimumSalary(
+            @Parameter(description = "Minimum salary threshold", required = true)
+            @PathVariable Double minSalary,
+            WebRequest webRequest) {
+        logger.info("Streaming staff with minimum salary: {}", minSalary);
+        return ndjson(webRequest, consumer -> staffService.streamStaffByMinimumSalary(minSalary, consumer));
+    }
+
+    // Writes each row as soon as it is read; the target stream is left open for the servlet container to close.
+    // A large table takes longer than spring.mvc.async.request-timeout, so these requests get their own timeout
+    private ResponseEntity<StreamingResponseBody> ndjson(WebRequest webRequest, Consumer<Consumer<Staff>> source) {
+        WebAsyncUtils.getAsyncManager(webRequest).getAsyncWebRequest().setTimeout(streamTimeout.toMillis());
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            try (SequenceWriter writer = objectMapper.writerFor(Staff.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(generator)) {
+                source.accept(staff -> {
+                    try {
+                        writer.write(staff);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+            out.write('\n');
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // ==================== CHANGE STREAM (SSE) ====================
+    @Operation(summary = "Stream staff changes",
+            description = "Server-sent events, one 'staff' event (a StaffChange) per created, updated or deleted staff member, "
+                    + "in commit order. The event id is the stream offset: reconnecting with Last-Event-ID, or passing it as "
+                    + "'after', resumes right after it. A 'reset' event means that offset is no longer retained; reload, then "
+                    + "apply the events that follow. Idle streams carry a comment line every heartbeat interval")
+    @ApiResponse(responseCode = "200", description = "Stream of staff changes",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = StaffChange.class)))
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @Parameter(description = "Only changes to staff in this department, or moving out of it")
+            @RequestParam(required = false) Long departmentId,
+            @Parameter(description = "Resume after this offset (default: the Last-Event-ID header, else only new changes)")
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        Long resumeAfter = after != null ? after : lastEventId;
+        logger.info("Streaming staff changes (department={}, after={})", departmentId, resumeAfter);
+        SseEmitter emitter = new SseEmitter();
+        Runnable unsubscribe = staffChangeFeed.subscribe(departmentId, resumeAfter, new StaffChangeFeed.Sink() {
+            @Override
+            public void send(List<StaffChange> changes) throws IOException {
+                Set<ResponseBodyEmitter.DataWithMediaType> events = new LinkedHashSet<>();
+                for (StaffChange change : changes) {
+                    events.addAll(SseEmitter.event().id(Long.toString(change.getId())).name("staff").data(change).build());
+                }
+                emitter.send(events);
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+
+            @Override
+            public void reset() throws IOException {
+                emitter.send(SseEmitter.event().name("reset").data("Offset " + resumeAfter + " is no longer retained"));
+            }
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(ex -> unsubscribe.run());
+        return emitter;
+    }
+
+    // ==================== CACHE STATISTICS ====================
+    @Operation(summary = "Get staff cache statistics",
+            description = "Returns hit, miss and eviction counters of the staff and department caches; empty when caching is disabled")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheStatistics>> getCacheStatistics() {
+        return ResponseEntity.ok(staffCache.statistics());
     }
 }
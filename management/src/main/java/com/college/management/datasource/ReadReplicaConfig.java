@@ -0,0 +1,89 @@
+package com.college.management.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting across the primary (spring.datasource.*) and the read replicas in
+ * staff.datasource.replicas.urls. The application's DataSource is a LazyConnectionDataSourceProxy: a
+ * transaction marked read-only has its connection set read-only before one is actually fetched, and the
+ * proxy then takes it from ReplicaRoutingDataSource; every other transaction uses the primary pool.
+ * Each replica gets its own Hikari pool (pool name replica-N) with its hikaricp.* meters.
+ */
+@Configuration
+@ConditionalOnProperty(name = "staff.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${staff.datasource.replicas.urls}") List<String> urls,
+            @Value("${staff.datasource.replicas.username:${spring.datasource.username}}") String username,
+            @Value("${staff.datasource.replicas.password:${spring.datasource.password}}") String password,
+            @Value("${staff.datasource.replicas.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int maximumPoolSize,
+            @Value("${staff.datasource.replicas.connection-timeout:2s}") Duration connectionTimeout,
+            @Value("${staff.datasource.replicas.selection:round-robin}") ReplicaRoutingDataSource.Selection selection,
+            @Value("${staff.datasource.replicas.max-lag:10s}") Duration maxLag,
+            @Value("${staff.datasource.replicas.health-interval:5s}") Duration healthInterval) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            // Start even when a replica is down; the health check keeps it out of rotation until it answers
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaRoutingDataSource.Replica(replica.getPoolName(), replica, () -> activeConnections(replica)));
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas, selection, maxLag);
+        routing.startHealthChecks(healthInterval);
+        logger.info("Read-only transactions routed over {} replica(s) ({}), max lag {}", replicas.size(), selection, maxLag);
+        return routing;
+    }
+
+    private static int activeConnections(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,39 @@
+package com.college.management.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the read-only transactions of the current thread to the primary. Used for requests inside a
+ * read-your-writes window (ReadYourWritesFilter) and for reads whose result outlives the request,
+ * such as cache loads, which must never see a replica that has not yet caught up with a commit.
+ * Without replica routing configured the pin has no effect.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<int[]> pinned = ThreadLocal.withInitial(() -> new int[1]);
+
+    private ReadRouting() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> reads) {
+        int[] depth = pinned.get();
+        depth[0]++;
+        try {
+            return reads.get();
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return pinned.get()[0] > 0;
+    }
+
+    static void pin() {
+        pinned.get()[0]++;
+    }
+
+    static void unpin() {
+        pinned.get()[0]--;
+    }
+}
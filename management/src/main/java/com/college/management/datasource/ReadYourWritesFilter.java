@@ -0,0 +1,74 @@
+package com.college.management.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Keeps a client that has just written on the primary for its next reads, so it never reads its own
+ * write from a replica that has not replayed it yet. Write requests run pinned and hand out a cookie
+ * holding the end of the window; requests carrying an unexpired one run pinned as well. The cookie is
+ * set before the handler runs, since the response may already be committed afterwards. Streamed
+ * listings read on an executor thread and are not covered.
+ */
+@Component
+@ConditionalOnProperty(name = "staff.datasource.replicas.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "staff-primary-until";
+
+    @Value("${staff.datasource.read-your-writes.window:5s}")
+    private Duration window = Duration.ofSeconds(5);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = isWrite(request.getMethod());
+        if (write) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + window.toMillis()));
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+        if (!write && !withinWindow(request.getCookies())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReadRouting.pin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadRouting.unpin();
+        }
+    }
+
+    private static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    private static boolean withinWindow(Cookie[] cookies) {
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,208 @@
+package com.college.management.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Hands out connections for read-only transactions (the read-only target of the LazyConnectionDataSourceProxy
+ * set up by ReadReplicaConfig). Each connection comes from a healthy replica, picked round-robin or by fewest
+ * active connections; reads pinned by ReadRouting, and all reads while no replica is usable, go to the primary.
+ * A replica is taken out of rotation as soon as it refuses a connection, or when the periodic health check
+ * finds it unreachable or replaying more than max-lag behind, and comes back once a check passes again.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements MeterBinder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Replay delay in seconds; 0 for a caught-up standby and for a server that is not a standby at all
+    static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "THEN 0 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    public enum Selection {
+        ROUND_ROBIN, LEAST_BUSY
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Selection selection;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryRoutes = new LongAdder();
+    private ScheduledExecutorService healthChecks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Selection selection, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (!ReadRouting.isPinnedToPrimary()) {
+            for (Replica replica : candidates()) {
+                try {
+                    Connection connection = source.connect(replica.dataSource);
+                    replica.routed.increment();
+                    return connection;
+                } catch (SQLException ex) {
+                    replica.markUp(false, ex.getMessage());
+                }
+            }
+        }
+        primaryRoutes.increment();
+        return source.connect(primary);
+    }
+
+    // Healthy replicas in the order to try them; rotating first spreads ties under least-busy too
+    private List<Replica> candidates() {
+        List<Replica> healthy = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.up) {
+                healthy.add(replica);
+            }
+        }
+        if (healthy.size() > 1) {
+            Collections.rotate(healthy, -Math.floorMod(next.getAndIncrement(), healthy.size()));
+            if (selection == Selection.LEAST_BUSY) {
+                healthy.sort(Comparator.comparingInt(replica -> replica.activeConnections.getAsInt()));
+            }
+        }
+        return healthy;
+    }
+
+    // ==================== HEALTH ====================
+    public void startHealthChecks(Duration interval) {
+        healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecks.scheduleWithFixedDelay(this::checkHealth, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet lag = statement.executeQuery(LAG_SQL)) {
+                lag.next();
+                replica.lagSeconds = lag.getDouble(1);
+                replica.markUp(replica.lagSeconds <= maxLagSeconds, "replaying " + replica.lagSeconds + "s behind");
+            } catch (SQLException ex) {
+                replica.markUp(false, ex.getMessage());
+            }
+        }
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("staff.datasource.routes", primaryRoutes, LongAdder::sum)
+                .description("Connections handed to read-only transactions, by target")
+                .tag("target", "primary")
+                .register(registry);
+        for (Replica replica : replicas) {
+            FunctionCounter.builder("staff.datasource.routes", replica.routed, LongAdder::sum)
+                    .description("Connections handed to read-only transactions, by target")
+                    .tag("target", replica.name)
+                    .register(registry);
+            Gauge.builder("staff.datasource.replica.up", replica, r -> r.up ? 1 : 0)
+                    .description("Whether the replica is in rotation")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            Gauge.builder("staff.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replay lag seen by the last health check")
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private interface ConnectionSource {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final IntSupplier activeConnections;
+        private final LongAdder routed = new LongAdder();
+        private volatile boolean up = true;
+        private volatile double lagSeconds;
+
+        public Replica(String name, DataSource dataSource, IntSupplier activeConnections) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.activeConnections = activeConnections;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isUp() {
+            return up;
+        }
+
+        // Only transitions are logged, so a replica that stays down does not flood the log
+        private synchronized void markUp(boolean healthy, String reason) {
+            if (healthy == up) {
+                return;
+            }
+            up = healthy;
+            if (healthy) {
+                logger.info("Replica {} is back in rotation", name);
+            } else {
+                logger.warn("Replica {} taken out of rotation: {}", name, reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.college.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of one batch operation, with the status the single-item endpoint would have answered")
+public class BatchOperationResult {
+
+    // Not attempted because the batch was rolled back or stopped before reaching the operation
+    public static final int NOT_APPLIED = 424;
+
+    @Schema(description = "0-based position of the operation in the request", example = "3")
+    private final int index;
+
+    @Schema(description = "HTTP-style status: 201 created, 200 updated, 204 deleted, 400 invalid, 404 not found, "
+            + "409 version conflict or rejected by a constraint, 424 not applied, 500 other database error", example = "200")
+    private final int status;
+
+    @Schema(description = "Staff ID the operation applied to (assigned ID for creates)", example = "42")
+    private final Long id;
+
+    @Schema(description = "Why the operation failed", example = "Staff not found with id: 42")
+    private final String error;
+
+    public BatchOperationResult(int index, int status, Long id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @JsonIgnore
+    public boolean isSucceeded() {
+        return status < 400;
+    }
+}
@@ -0,0 +1,69 @@
+package com.college.management.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Summary of a bulk staff import")
+public class BulkImportResult {
+
+    @Schema(description = "Data rows read from the upload", example = "10000")
+    private final long totalRows;
+
+    @Schema(description = "Rows written to the database", example = "9998")
+    private final long importedRows;
+
+    @Schema(description = "Rows rejected by validation or rolled back with a failed chunk", example = "2")
+    private final long rejectedRows;
+
+    @Schema(description = "Wall-clock duration of the import in milliseconds", example = "850")
+    private final long elapsedMillis;
+
+    @Schema(description = "Imported rows per second", example = "11762.4")
+    private final double rowsPerSecond;
+
+    @Schema(description = "Whether the PostgreSQL COPY fast path was used")
+    private final boolean copy;
+
+    @Schema(description = "Per-chunk results in upload order")
+    private final List<ImportChunkResult> chunks;
+
+    public BulkImportResult(long totalRows, long importedRows, long elapsedMillis, boolean copy,
+                            List<ImportChunkResult> chunks) {
+        this.totalRows = totalRows;
+        this.importedRows = importedRows;
+        this.rejectedRows = totalRows - importedRows;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = elapsedMillis == 0 ? importedRows : importedRows * 1000.0 / elapsedMillis;
+        this.copy = copy;
+        this.chunks = chunks;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public boolean isCopy() {
+        return copy;
+    }
+
+    public List<ImportChunkResult> getChunks() {
+        return chunks;
+    }
+}
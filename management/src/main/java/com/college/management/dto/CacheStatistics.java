@@ -0,0 +1,58 @@
+package com.college.management.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Hit/miss/eviction counters of one in-process cache")
+public class CacheStatistics {
+
+    @Schema(description = "Cache name", example = "staff")
+    private final String name;
+
+    @Schema(description = "Entries currently held (approximate)", example = "812")
+    private final long size;
+
+    @Schema(description = "Lookups answered from the cache", example = "10452")
+    private final long hits;
+
+    @Schema(description = "Lookups that went to the database", example = "931")
+    private final long misses;
+
+    @Schema(description = "Entries removed by size or TTL eviction", example = "12")
+    private final long evictions;
+
+    @Schema(description = "hits / (hits + misses)", example = "0.918")
+    private final double hitRate;
+
+    public CacheStatistics(String name, long size, long hits, long misses, long evictions, double hitRate) {
+        this.name = name;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.hitRate = hitRate;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+}
@@ -0,0 +1,79 @@
+package com.college.management.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "Payroll aggregates of one department")
+public class DepartmentPayroll {
+
+    @Schema(description = "Department ID", example = "101")
+    private final long departmentId;
+
+    @Schema(description = "Number of staff members", example = "42")
+    private final int headcount;
+
+    @Schema(description = "Sum of salaries", example = "2100000.0")
+    private final double totalSalary;
+
+    @Schema(description = "Mean salary", example = "50000.0")
+    private final double averageSalary;
+
+    @Schema(description = "Lowest salary", example = "30000.0")
+    private final double minSalary;
+
+    @Schema(description = "Highest salary", example = "95000.0")
+    private final double maxSalary;
+
+    @Schema(description = "Requested salary percentiles keyed by name, e.g. p50, p90, p99", example = "{\"p50\": 48000.0, \"p90\": 81000.0}")
+    private final Map<String, Double> percentiles;
+
+    @Schema(description = "Last full reload of the snapshot from the database; later writes through this instance are "
+            + "included, writes made elsewhere only from the next reload on")
+    private final Instant asOf;
+
+    public DepartmentPayroll(long departmentId, int headcount, double totalSalary, double averageSalary,
+                             double minSalary, double maxSalary, Map<String, Double> percentiles, Instant asOf) {
+        this.departmentId = departmentId;
+        this.headcount = headcount;
+        this.totalSalary = totalSalary;
+        this.averageSalary = averageSalary;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.percentiles = percentiles;
+        this.asOf = asOf;
+    }
+
+    public long getDepartmentId() {
+        return departmentId;
+    }
+
+    public int getHeadcount() {
+        return headcount;
+    }
+
+    public double getTotalSalary() {
+        return totalSalary;
+    }
+
+    public double getAverageSalary() {
+        return averageSalary;
+    }
+
+    public double getMinSalary() {
+        return minSalary;
+    }
+
+    public double getMaxSalary() {
+        return maxSalary;
+    }
+
+    public Map<String, Double> getPercentiles() {
+        return percentiles;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+}
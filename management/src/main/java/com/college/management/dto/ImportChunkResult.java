@@ -0,0 +1,61 @@
+package com.college.management.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of one committed (or rolled back) chunk of a bulk import")
+public class ImportChunkResult {
+
+    @Schema(description = "1-based chunk number", example = "1")
+    private final int chunk;
+
+    @Schema(description = "First data row covered by this chunk", example = "1")
+    private final long firstRow;
+
+    @Schema(description = "Last data row covered by this chunk", example = "1000")
+    private final long lastRow;
+
+    @Schema(description = "Rows written to the database by this chunk", example = "998")
+    private final int imported;
+
+    @Schema(description = "Rows rejected by parsing or validation")
+    private final List<ImportRowError> errors;
+
+    @Schema(description = "Database failure that rolled the whole chunk back, if any")
+    private final String failure;
+
+    public ImportChunkResult(int chunk, long firstRow, long lastRow, int imported,
+                             List<ImportRowError> errors, String failure) {
+        this.chunk = chunk;
+        this.firstRow = firstRow;
+        this.lastRow = lastRow;
+        this.imported = imported;
+        this.errors = errors;
+        this.failure = failure;
+    }
+
+    public int getChunk() {
+        return chunk;
+    }
+
+    public long getFirstRow() {
+        return firstRow;
+    }
+
+    public long getLastRow() {
+        return lastRow;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public List<ImportRowError> getErrors() {
+        return errors;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,34 @@
+package com.college.management.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A single rejected row of a bulk import")
+public class ImportRowError {
+
+    @Schema(description = "1-based data row number in the uploaded file (header excluded)", example = "42")
+    private final long row;
+
+    @Schema(description = "Field that failed, if the error is field-specific", example = "salary")
+    private final String field;
+
+    @Schema(description = "Why the row was rejected", example = "Salary must be positive")
+    private final String message;
+
+    public ImportRowError(long row, String field, String message) {
+        this.row = row;
+        this.field = field;
+        this.message = message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
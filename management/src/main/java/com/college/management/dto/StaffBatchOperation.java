@@ -0,0 +1,76 @@
+package com.college.management.dto;
+
+import com.college.management.entity.Staff;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Locale;
+
+@Schema(description = "One operation of a batch: create and update take a full staff body, patch a partial one, delete an id")
+public class StaffBatchOperation {
+
+    public enum Type {
+        CREATE, UPDATE, PATCH, DELETE;
+
+        // Accepts "update" as well as "UPDATE"
+        @JsonCreator
+        public static Type of(String value) {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    @Schema(description = "Operation to run", example = "UPDATE", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Type op;
+
+    @Schema(description = "Target staff ID (update, patch and delete)", example = "42")
+    private Long id;
+
+    @Schema(description = "Expected current version for delete; update and patch take it from their body", example = "3")
+    private Long version;
+
+    @Schema(description = "Full staff body (create and update)")
+    private Staff staff;
+
+    @Schema(description = "Partial staff body (patch)")
+    private StaffPatch patch;
+
+    public Type getOp() {
+        return op;
+    }
+
+    public void setOp(Type op) {
+        this.op = op;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Staff getStaff() {
+        return staff;
+    }
+
+    public void setStaff(Staff staff) {
+        this.staff = staff;
+    }
+
+    public StaffPatch getPatch() {
+        return patch;
+    }
+
+    public void setPatch(StaffPatch patch) {
+        this.patch = patch;
+    }
+}
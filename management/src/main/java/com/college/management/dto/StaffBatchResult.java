@@ -0,0 +1,66 @@
+package com.college.management.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a batch: whether its transaction committed, and one result per operation in request order")
+public class StaffBatchResult {
+
+    @Schema(description = "All-or-nothing mode: any failed operation rolls the whole batch back", example = "true")
+    private final boolean atomic;
+
+    @Schema(description = "Whether the batch transaction committed", example = "true")
+    private final boolean committed;
+
+    @Schema(description = "Operations applied", example = "498")
+    private final int succeeded;
+
+    @Schema(description = "Operations rejected or not applied", example = "2")
+    private final int failed;
+
+    @Schema(description = "Wall-clock time spent on the batch in milliseconds", example = "85")
+    private final long elapsedMillis;
+
+    @Schema(description = "Per-operation results, in request order")
+    private final List<BatchOperationResult> results;
+
+    public StaffBatchResult(boolean atomic, boolean committed, long elapsedMillis, List<BatchOperationResult> results) {
+        this.atomic = atomic;
+        this.committed = committed;
+        this.elapsedMillis = elapsedMillis;
+        this.results = results;
+        int ok = 0;
+        for (BatchOperationResult result : results) {
+            if (result.isSucceeded()) {
+                ok++;
+            }
+        }
+        this.succeeded = ok;
+        this.failed = results.size() - ok;
+    }
+
+    public boolean isAtomic() {
+        return atomic;
+    }
+
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public List<BatchOperationResult> getResults() {
+        return results;
+    }
+}
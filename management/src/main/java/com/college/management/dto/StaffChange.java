@@ -0,0 +1,92 @@
+package com.college.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "One staff change from the change stream; the id is its stream offset (also the SSE event id)")
+public class StaffChange {
+
+    @Schema(description = "Stream offset; pass as Last-Event-ID or ?after= to resume after this change", example = "1042")
+    private final long id;
+
+    @Schema(description = "CREATED, UPDATED or DELETED", example = "UPDATED")
+    private final String type;
+
+    @Schema(description = "ID of the changed staff member", example = "42")
+    private final long staffId;
+
+    @Schema(description = "Department after the change (for deletes, the department it was removed from when known)", example = "101")
+    private final Long departmentId;
+
+    @Schema(description = "Department the staff member moved out of, for updates that changed department", example = "100")
+    private final Long previousDepartmentId;
+
+    @Schema(description = "Name after the change; absent for deletes", example = "Jane Doe")
+    private final String staffName;
+
+    @Schema(description = "Salary after the change; absent for deletes", example = "61000.0")
+    private final Double salary;
+
+    @Schema(description = "Row version after the change; absent for deletes", example = "3")
+    private final Long version;
+
+    @Schema(description = "Commit time of the change")
+    private final Instant occurredAt;
+
+    public StaffChange(long id, String type, long staffId, Long departmentId, Long previousDepartmentId,
+                       String staffName, Double salary, Long version, Instant occurredAt) {
+        this.id = id;
+        this.type = type;
+        this.staffId = staffId;
+        this.departmentId = departmentId;
+        this.previousDepartmentId = previousDepartmentId;
+        this.staffName = staffName;
+        this.salary = salary;
+        this.version = version;
+        this.occurredAt = occurredAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public long getStaffId() {
+        return staffId;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public Long getPreviousDepartmentId() {
+        return previousDepartmentId;
+    }
+
+    public String getStaffName() {
+        return staffName;
+    }
+
+    public Double getSalary() {
+        return salary;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    // Whether a subscriber filtering on this department should see the change
+    public boolean concerns(Long department) {
+        return department == null || department.equals(departmentId) || department.equals(previousDepartmentId);
+    }
+}
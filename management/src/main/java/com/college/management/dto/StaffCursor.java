@@ -0,0 +1,36 @@
+package com.college.management.dto;
+
+import com.college.management.exception.InvalidInputException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque keyset cursor used by the paged staff endpoints.
+ * The cursor wraps the last staff ID returned, so the next page starts strictly after it.
+ */
+public final class StaffCursor {
+
+    private StaffCursor() {}
+
+    public static String encode(Long lastStaffId) {
+        if (lastStaffId == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastStaffId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // A missing cursor means "start from the beginning"
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            return Long.parseLong(decoded);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidInputException("Invalid page cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.college.management.dto;
+
+import com.college.management.exception.InvalidInputException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The staff properties a client can ask for with fields=; each constant names the Staff property
+ * (and JSON field) it stands for.
+ */
+public enum StaffField {
+
+    STAFF_ID("staffId"),
+    STAFF_NAME("staffName"),
+    DEPARTMENT_ID("departmentId"),
+    SALARY("salary"),
+    VERSION("version");
+
+    private final String property;
+
+    StaffField(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    // Comma-separated property names, e.g. "staffId,staffName"; null when absent, meaning the full entity
+    public static Set<StaffField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<StaffField> parsed = EnumSet.noneOf(StaffField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                parsed.add(fromProperty(trimmed));
+            }
+        }
+        if (parsed.isEmpty()) {
+            return null;
+        }
+        return parsed;
+    }
+
+    private static StaffField fromProperty(String property) {
+        for (StaffField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new InvalidInputException("Unknown field '" + property + "'; expected any of "
+                + Arrays.stream(values()).map(StaffField::property).collect(Collectors.joining(",")));
+    }
+}
@@ -0,0 +1,29 @@
+package com.college.management.dto;
+
+import com.college.management.entity.Staff;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of staff members ordered by staff ID, with a cursor for the next page")
+public class StaffPage {
+
+    @Schema(description = "Staff members on this page, ordered by staff ID")
+    private final List<Staff> content;
+
+    @Schema(description = "Opaque cursor for the next page; null when this is the last page", example = "MTA1")
+    private final String next;
+
+    public StaffPage(List<Staff> content, String next) {
+        this.content = content;
+        this.next = next;
+    }
+
+    public List<Staff> getContent() {
+        return content;
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,55 @@
+package com.college.management.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+@Schema(description = "Partial update of a staff member: only the fields present are changed")
+public class StaffPatch {
+
+    @Pattern(regexp = ".*\\S.*", message = "Staff name must not be blank")
+    @Schema(description = "New full name", example = "Jane Doe")
+    private String staffName;
+
+    @Schema(description = "New department ID", example = "102")
+    private Long departmentId;
+
+    @Positive(message = "Salary must be positive")
+    @Schema(description = "New monthly salary", example = "55000.00")
+    private Double salary;
+
+    @Schema(description = "Expected current version; when present the update fails with 409 if the row has changed", example = "3")
+    private Long version;
+
+    public String getStaffName() {
+        return staffName;
+    }
+
+    public void setStaffName(String staffName) {
+        this.staffName = staffName;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public Double getSalary() {
+        return salary;
+    }
+
+    public void setSalary(Double salary) {
+        this.salary = salary;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,70 @@
+package com.college.management.dto;
+
+import com.college.management.entity.Staff;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Set;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A staff member reduced to the properties requested with fields=; the others are omitted")
+public class StaffView {
+
+    @Schema(description = "Unique identifier of the staff member", example = "1")
+    private final Long staffId;
+
+    @Schema(description = "Full name of the staff member", example = "John Doe")
+    private final String staffName;
+
+    @Schema(description = "Department ID where staff member works", example = "101")
+    private final Long departmentId;
+
+    @Schema(description = "Monthly salary of the staff member", example = "50000.00")
+    private final Double salary;
+
+    @Schema(description = "Row version for optimistic locking", example = "0")
+    private final Long version;
+
+    public StaffView(Long staffId, String staffName, Long departmentId, Double salary, Long version) {
+        this.staffId = staffId;
+        this.staffName = staffName;
+        this.departmentId = departmentId;
+        this.salary = salary;
+        this.version = version;
+    }
+
+    // For listings served from already loaded entities (the department cache)
+    public static StaffView of(Staff staff, Set<StaffField> fields) {
+        return new StaffView(
+                fields.contains(StaffField.STAFF_ID) ? staff.getStaffId() : null,
+                fields.contains(StaffField.STAFF_NAME) ? staff.getStaffName() : null,
+                fields.contains(StaffField.DEPARTMENT_ID) ? staff.getDepartmentId() : null,
+                fields.contains(StaffField.SALARY) ? staff.getSalary() : null,
+                fields.contains(StaffField.VERSION) ? staff.getVersion() : null);
+    }
+
+    // For queries that read the id only to order or continue the rows, when it was not requested
+    public StaffView withoutStaffId() {
+        return new StaffView(null, staffName, departmentId, salary, version);
+    }
+
+    public Long getStaffId() {
+        return staffId;
+    }
+
+    public String getStaffName() {
+        return staffName;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public Double getSalary() {
+        return salary;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -7,12 +7,24 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
 @Entity
-@Table(name = "staff")
+@Table(name = "staff", indexes = {
+        // Serves keyset pagination within a department: WHERE department_id = ? AND staff_id > ? ORDER BY staff_id
+        @Index(name = "idx_staff_department_staff_id", columnList = "department_id, staff_id"),
+        // Serves salary range scans and "top N earners" (backward scan) across all staff
+        @Index(name = "idx_staff_salary", columnList = "salary"),
+        // Serves "top N earners per department": WHERE department_id = ? ORDER BY salary DESC LIMIT n
+        @Index(name = "idx_staff_department_salary", columnList = "department_id, salary")
+})
 @Schema(description = "Staff entity representing a college staff member")
 public class Staff {
 
+    // Ids come from a pooled sequence so inserts can be JDBC-batched; one nextval reserves this many ids
+    public static final String ID_SEQUENCE = "staff_id_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "staff_id_generator")
+    @SequenceGenerator(name = "staff_id_generator", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "staff_id")
     @Schema(description = "Unique identifier of the staff member", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
     private Long staffId;
@@ -33,6 +45,12 @@ public class Staff {
     @Schema(description = "Monthly salary of the staff member", example = "50000.00", required = true)
     private Double salary;
 
+    // Optimistic lock: bumped by every update; PUT, PATCH and DELETE may send it to guard against lost updates
+    @Version
+    @Column(name = "version")
+    @Schema(description = "Row version for optimistic locking; send it back on update to fail with 409 if the row changed meanwhile", example = "0")
+    private Long version;
+
     // Default constructor
     public Staff() {}
 
@@ -76,6 +94,14 @@ public class Staff {
         this.salary = salary;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Staff{" +
@@ -83,6 +109,7 @@ public class Staff {
                 ", staffName='" + staffName + '\'' +
                 ", departmentId=" + departmentId +
                 ", salary=" + salary +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
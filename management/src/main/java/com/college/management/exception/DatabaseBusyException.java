@@ -0,0 +1,7 @@
+package com.college.management.exception;
+
+public class DatabaseBusyException extends StacklessException {
+    public DatabaseBusyException(String message){
+        super(message);
+    }
+}
@@ -1,9 +1,16 @@
 package com.college.management.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -12,71 +19,131 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * Turns exceptions into RFC 7807 problem details (application/problem+json); Spring MVC fills in
+ * "instance" with the request path. Client errors are logged at DEBUG, server errors at WARN/ERROR, and
+ * every branch goes through a per-key rate limit so an error storm cannot turn into a logging storm.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler  extends ResponseEntityExceptionHandler{
 
     private static final Logger logger= LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    // One staff.errors counter per handler branch, registered up front so counting is a single increment
+    private final Counter notFoundErrors;
+    private final Counter invalidInputErrors;
+    private final Counter versionConflictErrors;
+    private final Counter databaseBusyErrors;
+    private final Counter unexpectedErrors;
+    private final Counter validationErrors;
+    private final RateLimitedLog errorLog;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry,
+                                  @Value("${staff.errors.log-interval:10s}") Duration logInterval) {
+        this.notFoundErrors = errorCounter(meterRegistry, "not_found");
+        this.invalidInputErrors = errorCounter(meterRegistry, "invalid_input");
+        this.versionConflictErrors = errorCounter(meterRegistry, "version_conflict");
+        this.databaseBusyErrors = errorCounter(meterRegistry, "database_busy");
+        this.unexpectedErrors = errorCounter(meterRegistry, "unexpected");
+        this.validationErrors = errorCounter(meterRegistry, "validation");
+        this.errorLog = new RateLimitedLog(logInterval);
+    }
+
+    private static Counter errorCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("staff.errors")
+                .description("Requests answered by GlobalExceptionHandler")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Object> handleResourceNotFound(ResourceNotFoundException ex, WebRequest request) {
-         logger.error("Resource not found: {}", ex.getMessage());
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.NOT_FOUND.value());
-        body.put("error", "Resource Not Found");
-        body.put("message", ex.getMessage());
-        body.put("path", request.getDescription(false));
-        return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
+        notFoundErrors.increment();
+        log(Level.DEBUG, "not_found", "Resource not found: {}", ex.getMessage(), null);
+        return problem(HttpStatus.NOT_FOUND, "Resource Not Found", ex.getMessage());
     }
 
     @ExceptionHandler(InvalidInputException.class)
     public ResponseEntity<Object> handleInvalidInput(InvalidInputException ex, WebRequest request) {
-        logger.error("Invalid input: {}", ex.getMessage());
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Invalid Input");
-        body.put("message", ex.getMessage());
-        body.put("path", request.getDescription(false));
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        invalidInputErrors.increment();
+        log(Level.DEBUG, "invalid_input", "Invalid input: {}", ex.getMessage(), null);
+        return problem(HttpStatus.BAD_REQUEST, "Invalid Input", ex.getMessage());
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<Object> handleVersionConflict(VersionConflictException ex, WebRequest request) {
+        versionConflictErrors.increment();
+        log(Level.DEBUG, "version_conflict", "Version conflict: {}", ex.getMessage(), null);
+        return problem(HttpStatus.CONFLICT, "Version Conflict", ex.getMessage());
+    }
+
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<Object> handleDatabaseBusy(DatabaseBusyException ex, WebRequest request) {
+        databaseBusyErrors.increment();
+        log(Level.WARN, "database_busy", "Database busy: {}", ex.getMessage(), null);
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        problem.setTitle("Service Unavailable");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(problem);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAll(Exception ex,WebRequest request){
-        logger.error("Unexpected error: {}", ex.getMessage(), ex);
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        body.put("error", "Internal Server Error");
-        body.put("message", ex.getMessage());
-        body.put("path", request.getDescription(false));
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+        // The connection limiter throws from getConnection; transaction managers and Hibernate wrap that
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof DatabaseBusyException busy) {
+                return handleDatabaseBusy(busy, request);
+            }
+        }
+        unexpectedErrors.increment();
+        // Keyed by exception class: a new kind of failure is always logged, with its stack trace
+        log(Level.ERROR, ex.getClass().getName(), "Unexpected error: {}", ex.getMessage(), ex);
+        return problem(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", ex.getMessage());
     }
 
      @Override
 protected ResponseEntity<Object> handleMethodArgumentNotValid(
         MethodArgumentNotValidException ex,
         HttpHeaders headers,
-        org.springframework.http.HttpStatusCode status,
+        HttpStatusCode status,
         WebRequest request) {
 
-    Map<String, String> fieldErrors = new HashMap<>();
+    validationErrors.increment();
+    Map<String, String> fieldErrors = new LinkedHashMap<>();
     for (FieldError error : ex.getBindingResult().getFieldErrors()) {
         fieldErrors.put(error.getField(), error.getDefaultMessage());
     }
+    log(Level.DEBUG, "validation", "Validation failed: {}", fieldErrors, null);
 
-    Map<String, Object> body = new HashMap<>();
-    body.put("timestamp", LocalDateTime.now());
-    body.put("status", status.value());
-    body.put("error", "Validation Failed");
-    body.put("message", fieldErrors);
-    body.put("path", request.getDescription(false));
-
-    return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Request body failed validation");
+    problem.setTitle("Validation Failed");
+    problem.setProperty("errors", fieldErrors);
+    return ResponseEntity.badRequest().body(problem);
 }
-    
+
+    private static ResponseEntity<Object> problem(HttpStatus status, String title, String detail) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setTitle(title);
+        return ResponseEntity.status(status).body(problem);
+    }
+
+    // The level check comes first, so disabled levels cost nothing beyond the counter
+    private void log(Level level, String key, String message, Object argument, Throwable cause) {
+        if (!logger.isEnabledForLevel(level)) {
+            return;
+        }
+        long suppressed = errorLog.tryAcquire(key);
+        if (suppressed == RateLimitedLog.SUPPRESSED) {
+            return;
+        }
+        LoggingEventBuilder event = logger.atLevel(level).setCause(cause);
+        if (suppressed > 0) {
+            event.log(message + " ({} similar suppressed)", argument, suppressed);
+        } else {
+            event.log(message, argument);
+        }
+    }
 }
@@ -1,6 +1,6 @@
 package com.college.management.exception;
 
-public class InvalidInputException extends RuntimeException {
+public class InvalidInputException extends StacklessException {
     public InvalidInputException(String message){
         super(message);
     }
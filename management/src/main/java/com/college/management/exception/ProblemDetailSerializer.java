@@ -0,0 +1,51 @@
+package com.college.management.exception;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+import org.springframework.http.ProblemDetail;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Writes RFC 7807 problem details field by field instead of through bean introspection and the
+ * any-getter of Spring's ProblemDetail mixin. "type" is left out when it is the default about:blank,
+ * as the RFC allows; extra properties (such as validation errors) follow the standard members.
+ */
+@JsonComponent
+public class ProblemDetailSerializer extends StdSerializer<ProblemDetail> {
+
+    private static final URI BLANK_TYPE = URI.create("about:blank");
+
+    public ProblemDetailSerializer() {
+        super(ProblemDetail.class);
+    }
+
+    @Override
+    public void serialize(ProblemDetail problem, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        if (problem.getType() != null && !BLANK_TYPE.equals(problem.getType())) {
+            generator.writeStringField("type", problem.getType().toString());
+        }
+        if (problem.getTitle() != null) {
+            generator.writeStringField("title", problem.getTitle());
+        }
+        generator.writeNumberField("status", problem.getStatus());
+        if (problem.getDetail() != null) {
+            generator.writeStringField("detail", problem.getDetail());
+        }
+        if (problem.getInstance() != null) {
+            generator.writeStringField("instance", problem.getInstance().toString());
+        }
+        Map<String, Object> properties = problem.getProperties();
+        if (properties != null) {
+            for (Map.Entry<String, Object> property : properties.entrySet()) {
+                provider.defaultSerializeField(property.getKey(), property.getValue(), generator);
+            }
+        }
+        generator.writeEndObject();
+    }
+}
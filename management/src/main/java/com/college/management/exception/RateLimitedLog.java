@@ -0,0 +1,47 @@
+package com.college.management.exception;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets one log line per key through per interval and counts the rest, so a flood of identical errors
+ * costs a map lookup and an increment instead of formatting and writing a line (or a stack trace) each
+ * time. Keys are a small fixed set (error type or exception class), so the map stays bounded.
+ */
+final class RateLimitedLog {
+
+    static final long SUPPRESSED = -1;
+
+    private final long intervalNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    RateLimitedLog(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * Returns SUPPRESSED when the line should be dropped, otherwise how many lines for this key were
+     * dropped since the last one that was allowed.
+     */
+    long tryAcquire(String key) {
+        Window window = windows.computeIfAbsent(key, k -> new Window(System.nanoTime()));
+        long now = System.nanoTime();
+        long nextAllowed = window.nextAllowed.get();
+        if (now - nextAllowed >= 0 && window.nextAllowed.compareAndSet(nextAllowed, now + intervalNanos)) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return SUPPRESSED;
+    }
+
+    private static final class Window {
+        final AtomicLong nextAllowed;
+        final AtomicLong suppressed = new AtomicLong();
+
+        Window(long now) {
+            this.nextAllowed = new AtomicLong(now);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.college.management.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends StacklessException {
     public ResourceNotFoundException(String message){
         super(message);
     }
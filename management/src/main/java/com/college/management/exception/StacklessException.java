@@ -0,0 +1,12 @@
+package com.college.management.exception;
+
+/**
+ * Base for exceptions that signal an expected outcome (missing staff, bad input, busy database) and are
+ * turned into an error response by GlobalExceptionHandler. Nobody reads their stack trace, so it is
+ * never captured, which makes throwing them about as cheap as allocating an object.
+ */
+public abstract class StacklessException extends RuntimeException {
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.college.management.exception;
+
+public class VersionConflictException extends StacklessException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,77 @@
+package com.college.management.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-thread state of the request being served: whether its DEBUG output was sampled, and the DEBUG
+ * events held back in case the request turns out slow or failed. Opened and closed by
+ * RequestLogSamplingFilter; read by SamplingAppender on the same thread.
+ */
+public final class RequestLogContext {
+
+    private static final ThreadLocal<RequestLogContext> CURRENT = new ThreadLocal<>();
+
+    private final boolean sampled;
+    private final int maxBuffered;
+    private final List<Deferred> buffered = new ArrayList<>();
+    private int dropped;
+
+    private RequestLogContext(boolean sampled, int maxBuffered) {
+        this.sampled = sampled;
+        this.maxBuffered = maxBuffered;
+    }
+
+    public static RequestLogContext begin(boolean sampled, int maxBuffered) {
+        RequestLogContext context = new RequestLogContext(sampled, maxBuffered);
+        CURRENT.set(context);
+        return context;
+    }
+
+    static RequestLogContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Closes the current request. When keep is true the held-back events are written now, in order;
+     * otherwise they are discarded. Returns how many events were written.
+     */
+    public static int end(boolean keep) {
+        RequestLogContext context = CURRENT.get();
+        CURRENT.remove();
+        if (context == null || !keep) {
+            return 0;
+        }
+        for (Deferred deferred : context.buffered) {
+            deferred.appender.replay(deferred.event);
+        }
+        return context.buffered.size();
+    }
+
+    public int buffered() {
+        return buffered.size();
+    }
+
+    public int dropped() {
+        return dropped;
+    }
+
+    boolean isSampled() {
+        return sampled;
+    }
+
+    // The oldest events are kept: they show how the request started, and the summary line covers the rest
+    void defer(SamplingAppender appender, ILoggingEvent event) {
+        if (buffered.size() >= maxBuffered) {
+            dropped++;
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        buffered.add(new Deferred(appender, event));
+    }
+
+    private record Deferred(SamplingAppender appender, ILoggingEvent event) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.college.management.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides per request whether its DEBUG/SQL output is written (see SamplingAppender). A sampled
+ * fraction of requests log in full; for the rest the held-back lines are written only when the request
+ * was slow or failed with a 5xx/exception, preceded by a summary line. Only has an effect when the
+ * logging configuration routes through SamplingAppender (logback-prod.xml).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "staff.logging.sampling.enabled", havingValue = "true")
+public class RequestLogSamplingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestLogSamplingFilter.class);
+
+    @Value("${staff.logging.sampling.rate:0.01}")
+    private double rate = 0.01;
+
+    @Value("${staff.logging.sampling.slow-threshold:500ms}")
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    @Value("${staff.logging.sampling.max-buffered:200}")
+    private int maxBuffered = 200;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < rate;
+        RequestLogContext context = RequestLogContext.begin(sampled, maxBuffered);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            // An async request has only been handed off here, so its elapsed time says nothing yet
+            boolean slow = !request.isAsyncStarted() && elapsedMillis >= slowThreshold.toMillis();
+            boolean keep = !sampled && (slow || failed) && (context.buffered() > 0 || context.dropped() > 0);
+            if (keep) {
+                logger.info("{} request {} {} ({} ms, status {}): writing {} held-back debug lines ({} dropped)",
+                        failed ? "Failed" : "Slow", request.getMethod(), request.getRequestURI(), elapsedMillis,
+                        response.getStatus(), context.buffered(), context.dropped());
+            }
+            RequestLogContext.end(keep);
+        }
+    }
+}
@@ -1,15 +1,56 @@
 package com.college.management.repository;
 
 import com.college.management.entity.Staff;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface StaffRepository extends JpaRepository<Staff, Long> {
+public interface StaffRepository extends JpaRepository<Staff, Long>, StaffViewRepository {
+
+    // Rows pulled per round trip when streaming; PostgreSQL only honours this inside a transaction
+    String STREAM_FETCH_SIZE = "500";
+
+    // ==================== SINGLE-STATEMENT WRITES ====================
+    // Null arguments leave the column unchanged (PATCH); a null expectedVersion skips the version check.
+    // The CTE locks the row and reads its current department, so one round trip updates the row and
+    // returns both the new state and the department whose cached list must be invalidated:
+    // (staff_id, staff_name, department_id, salary, version, previous_department_id). No row means the
+    // id does not exist or the version did not match.
+    @Query(nativeQuery = true, value = """
+            WITH previous AS (SELECT staff_id, department_id FROM staff WHERE staff_id = :id FOR UPDATE)
+            UPDATE staff s SET
+                staff_name = COALESCE(CAST(:staffName AS varchar), s.staff_name),
+                department_id = COALESCE(CAST(:departmentId AS bigint), s.department_id),
+                salary = COALESCE(CAST(:salary AS float8), s.salary),
+                version = s.version + 1
+            FROM previous p
+            WHERE s.staff_id = p.staff_id
+              AND (CAST(:expectedVersion AS bigint) IS NULL OR s.version = CAST(:expectedVersion AS bigint))
+            RETURNING s.staff_id, s.staff_name, s.department_id, s.salary, s.version, p.department_id
+            """)
+    List<Object[]> updateReturning(@Param("id") Long id, @Param("staffName") String staffName,
+                                   @Param("departmentId") Long departmentId, @Param("salary") Double salary,
+                                   @Param("expectedVersion") Long expectedVersion);
+
+    // Returns the deleted row's department, or nothing when the id does not exist or the version did not match
+    @Query(nativeQuery = true, value = """
+            DELETE FROM staff
+            WHERE staff_id = :id
+              AND (CAST(:expectedVersion AS bigint) IS NULL OR version = CAST(:expectedVersion AS bigint))
+            RETURNING department_id
+            """)
+    List<Long> deleteReturningDepartment(@Param("id") Long id, @Param("expectedVersion") Long expectedVersion);
 
     // Custom query methods
     List<Staff> findByDepartmentId(Long departmentId);
@@ -17,5 +58,46 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
     @Query("SELECT s FROM Staff s WHERE s.salary >= :minSalary")
     List<Staff> findByMinimumSalary(@Param("minSalary") Double minSalary);
 
-    List<Staff> findByStaffNameContainingIgnoreCase(String name);
-}
\ No newline at end of file
+    // Name search fallback while the in-memory index is cold; lower(staff_name) matches the pg_trgm GIN index
+    @Query("SELECT s FROM Staff s WHERE lower(s.staffName) LIKE lower(concat('%', :name, '%')) ESCAPE '\\' " +
+            "ORDER BY length(s.staffName), s.staffName")
+    List<Staff> searchByNameContaining(@Param("name") String escapedName, Limit limit);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s.staffId, s.staffName FROM Staff s ORDER BY s.staffId")
+    Stream<Object[]> streamIdsAndNames();
+
+    // Feeds the payroll snapshot: (staffId, departmentId, salary), grouped by department and sorted by salary
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s.staffId, s.departmentId, s.salary FROM Staff s ORDER BY s.departmentId, s.salary")
+    Stream<Object[]> streamPayrollRows();
+
+    // Salary range and top-N queries: bounded and sorted in the database, served by the salary indexes
+    @Query("SELECT s FROM Staff s WHERE s.salary BETWEEN :minSalary AND :maxSalary ORDER BY s.salary, s.staffId")
+    List<Staff> findBySalaryRange(@Param("minSalary") Double minSalary, @Param("maxSalary") Double maxSalary, Limit limit);
+
+    List<Staff> findByOrderBySalaryDescStaffIdAsc(Limit limit);
+
+    List<Staff> findByDepartmentIdOrderBySalaryDescStaffIdAsc(Long departmentId, Limit limit);
+
+    // Keyset pagination: each page starts strictly after the last staff ID of the previous one
+    List<Staff> findByStaffIdGreaterThanOrderByStaffIdAsc(Long afterId, Limit limit);
+
+    List<Staff> findByDepartmentIdAndStaffIdGreaterThanOrderByStaffIdAsc(Long departmentId, Long afterId, Limit limit);
+
+    @Query("SELECT s FROM Staff s WHERE s.salary >= :minSalary AND s.staffId > :afterId ORDER BY s.staffId")
+    List<Staff> findByMinimumSalaryAfter(@Param("minSalary") Double minSalary, @Param("afterId") Long afterId, Limit limit);
+
+    // Streaming queries: must be consumed inside a read-only transaction
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM Staff s ORDER BY s.staffId")
+    Stream<Staff> streamAll();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM Staff s WHERE s.departmentId = :departmentId ORDER BY s.staffId")
+    Stream<Staff> streamByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM Staff s WHERE s.salary >= :minSalary ORDER BY s.staffId")
+    Stream<Staff> streamByMinimumSalary(@Param("minSalary") Double minSalary);
+}
@@ -0,0 +1,32 @@
+package com.college.management.repository;
+
+import com.college.management.dto.StaffField;
+import com.college.management.dto.StaffView;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Projected counterparts of the StaffRepository listings: the same filters and ordering, but only the
+ * requested columns are selected and rows come back as StaffView values, never as managed entities.
+ */
+public interface StaffViewRepository {
+
+    // Ordered by id, with the id always selected so a listing can continue after the last row
+    List<StaffView> findAllViews(Set<StaffField> fields, Limit limit);
+
+    List<StaffView> findViewsByMinimumSalary(Set<StaffField> fields, Double minSalary);
+
+    List<StaffView> findViewsBySalaryRange(Set<StaffField> fields, Double minSalary, Double maxSalary, Limit limit);
+
+    List<StaffView> findTopEarnerViews(Set<StaffField> fields, Limit limit);
+
+    List<StaffView> findTopEarnerViewsByDepartmentId(Set<StaffField> fields, Long departmentId, Limit limit);
+
+    // Unordered; callers put them in the order they need (see StaffServiceImpl.searchStaffByName)
+    List<StaffView> findViewsByIdIn(Set<StaffField> fields, Collection<Long> ids);
+
+    List<StaffView> searchViewsByNameContaining(Set<StaffField> fields, String escapedName, Limit limit);
+}
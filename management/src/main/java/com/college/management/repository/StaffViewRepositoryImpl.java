@@ -0,0 +1,96 @@
+package com.college.management.repository;
+
+import com.college.management.dto.StaffField;
+import com.college.management.dto.StaffView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Builds "SELECT s.a AS a, s.b AS b FROM Staff s ..." from the requested fields. Only enum constants are
+ * ever spliced into the JPQL; every value is a bind parameter. The WHERE and ORDER BY clauses are the
+ * ones of the matching StaffRepository queries, so the same indexes serve them.
+ */
+class StaffViewRepositoryImpl implements StaffViewRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StaffView> findAllViews(Set<StaffField> fields, Limit limit) {
+        return select(withId(fields), "ORDER BY s.staffId", Map.of(), limit);
+    }
+
+    @Override
+    public List<StaffView> findViewsByMinimumSalary(Set<StaffField> fields, Double minSalary) {
+        return select(fields, "WHERE s.salary >= :minSalary", Map.of("minSalary", minSalary), Limit.unlimited());
+    }
+
+    @Override
+    public List<StaffView> findViewsBySalaryRange(Set<StaffField> fields, Double minSalary, Double maxSalary, Limit limit) {
+        return select(fields, "WHERE s.salary BETWEEN :minSalary AND :maxSalary ORDER BY s.salary, s.staffId",
+                Map.of("minSalary", minSalary, "maxSalary", maxSalary), limit);
+    }
+
+    @Override
+    public List<StaffView> findTopEarnerViews(Set<StaffField> fields, Limit limit) {
+        return select(fields, "ORDER BY s.salary DESC, s.staffId", Map.of(), limit);
+    }
+
+    @Override
+    public List<StaffView> findTopEarnerViewsByDepartmentId(Set<StaffField> fields, Long departmentId, Limit limit) {
+        return select(fields, "WHERE s.departmentId = :departmentId ORDER BY s.salary DESC, s.staffId",
+                Map.of("departmentId", departmentId), limit);
+    }
+
+    @Override
+    public List<StaffView> findViewsByIdIn(Set<StaffField> fields, Collection<Long> ids) {
+        // The id is always selected: callers match rows back to the ids they asked for
+        return select(withId(fields), "WHERE s.staffId IN :ids", Map.of("ids", ids), Limit.unlimited());
+    }
+
+    @Override
+    public List<StaffView> searchViewsByNameContaining(Set<StaffField> fields, String escapedName, Limit limit) {
+        return select(fields, "WHERE lower(s.staffName) LIKE lower(concat('%', :name, '%')) ESCAPE '\\' "
+                + "ORDER BY length(s.staffName), s.staffName", Map.of("name", escapedName), limit);
+    }
+
+    private static Set<StaffField> withId(Set<StaffField> fields) {
+        Set<StaffField> withId = EnumSet.copyOf(fields);
+        withId.add(StaffField.STAFF_ID);
+        return withId;
+    }
+
+    private List<StaffView> select(Set<StaffField> fields, String clauses, Map<String, ?> parameters, Limit limit) {
+        StringJoiner columns = new StringJoiner(", ", "SELECT ", " FROM Staff s " + clauses);
+        for (StaffField field : fields) {
+            columns.add("s." + field.property() + " AS " + field.property());
+        }
+        TypedQuery<Tuple> query = entityManager.createQuery(columns.toString(), Tuple.class);
+        parameters.forEach(query::setParameter);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        List<Tuple> rows = query.getResultList();
+        List<StaffView> views = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            views.add(new StaffView(
+                    fields.contains(StaffField.STAFF_ID) ? row.get("staffId", Long.class) : null,
+                    fields.contains(StaffField.STAFF_NAME) ? row.get("staffName", String.class) : null,
+                    fields.contains(StaffField.DEPARTMENT_ID) ? row.get("departmentId", Long.class) : null,
+                    fields.contains(StaffField.SALARY) ? row.get("salary", Double.class) : null,
+                    fields.contains(StaffField.VERSION) ? row.get("version", Long.class) : null));
+        }
+        return views;
+    }
+}
@@ -0,0 +1,7 @@
+package com.college.management.service;
+
+// Upload formats accepted by the bulk import endpoint
+public enum ImportFormat {
+    CSV,
+    JSON
+}
@@ -0,0 +1,425 @@
+package com.college.management.service;
+
+import com.college.management.datasource.ReadRouting;
+import com.college.management.dto.DepartmentPayroll;
+import com.college.management.repository.StaffRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Columnar in-memory copy of the payroll data (staff id, department id, salary) for analytics.
+ * Rows are partitioned by department; each partition holds a long[] id column and a double[] salary
+ * column kept sorted by salary, so min/max/percentiles are index lookups and totals are a tight loop.
+ * Partitions are immutable and replaced copy-on-write, so aggregations never lock; the all-departments
+ * report fans out over partitions on the fork-join pool once the snapshot is large enough to benefit.
+ * <p>
+ * The snapshot is loaded at startup (or on first use) and follows the StaffChangedEvents of this instance.
+ * Writes it never hears about (other instances, direct SQL) are picked up by a full reload every
+ * refresh-interval, built off to the side and swapped in; events arriving during the reload are replayed
+ * on top. Every aggregate carries the start time of the last reload as its asOf.
+ */
+@Component
+public class PayrollSnapshot implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollSnapshot.class);
+
+    // Replaced as a whole by a reload; partitions within are replaced copy-on-write under writeLock
+    private volatile Map<Long, Partition> partitions = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    // Serializes reloads; held while reading the database, unlike writeLock
+    private final Object loadLock = new Object();
+    // Which partition each staff id lives in; only touched under writeLock
+    private LongLongMap departmentById = new LongLongMap();
+    // Events seen while a reload reads the database, replayed once it is installed; guarded by writeLock
+    private List<StaffChangedEvent> pending;
+    private volatile boolean loaded;
+    private volatile int rowCount;
+    private volatile Instant asOf;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${staff.analytics.parallel-threshold:20000}")
+    private int parallelThreshold = 20000;
+
+    @Value("${staff.analytics.refresh-interval:5m}")
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    // ==================== LOADING ====================
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread load = new Thread(this::loadAndRefresh, "payroll-snapshot");
+        load.setDaemon(true);
+        load.start();
+    }
+
+    private void loadAndRefresh() {
+        ensureLoaded();
+        if (refreshInterval.isZero() || refreshInterval.isNegative()) {
+            return;
+        }
+        while (true) {
+            try {
+                Thread.sleep(refreshInterval.toMillis());
+                reload();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                logger.warn("Payroll snapshot reload failed, keeping the previous one: {}", ex.getMessage());
+            }
+        }
+    }
+
+    public void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (!loaded) {
+                reload();
+            }
+        }
+    }
+
+    // Reads the whole table without holding writeLock, so committing writers are never held up by a reload
+    void reload() {
+        synchronized (loadLock) {
+            long start = System.nanoTime();
+            Instant readStart = Instant.now();
+            synchronized (writeLock) {
+                pending = new ArrayList<>();
+            }
+            try {
+                TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+                readOnly.setReadOnly(true);
+                // On the primary: a lagging replica would bring back rows older than the events replayed on top
+                ReadRouting.onPrimary(() -> readOnly.execute(status -> {
+                    try (Stream<Object[]> rows = staffRepository.streamPayrollRows()) {
+                        load(rows, readStart);
+                    }
+                    return null;
+                }));
+            } finally {
+                synchronized (writeLock) {
+                    pending = null;
+                }
+            }
+            logger.info("Payroll snapshot loaded with {} staff in {} departments in {} ms",
+                    rowCount, partitions.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    void load(Stream<Object[]> rows) {
+        load(rows, Instant.now());
+    }
+
+    // Rows are (staffId, departmentId, salary) ordered by department and salary. The new columns replace
+    // the current ones, then the events that came in while the rows were read are applied again: the read may
+    // or may not have seen their writes, and applying a change twice leaves the same state
+    private void load(Stream<Object[]> rows, Instant readStart) {
+        Map<Long, PartitionBuilder> builders = new HashMap<>();
+        LongLongMap ids = new LongLongMap();
+        rows.forEach(row -> {
+            long id = (Long) row[0];
+            long departmentId = (Long) row[1];
+            builders.computeIfAbsent(departmentId, PartitionBuilder::new).append(id, (Double) row[2]);
+            ids.put(id, departmentId);
+        });
+        Map<Long, Partition> columns = new ConcurrentHashMap<>();
+        builders.values().forEach(builder -> columns.put(builder.departmentId, builder.build()));
+        synchronized (writeLock) {
+            partitions = columns;
+            departmentById = ids;
+            if (pending != null) {
+                pending.forEach(this::apply);
+                pending.clear();
+            }
+            rowCount = departmentById.size();
+            asOf = readStart;
+            loaded = true;
+        }
+    }
+
+    // Before the first load the event is only kept for replay: the load reads its write from the database
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStaffChanged(StaffChangedEvent event) {
+        synchronized (writeLock) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            if (loaded) {
+                apply(event);
+                rowCount = departmentById.size();
+            }
+        }
+    }
+
+    // Caller holds writeLock
+    private void apply(StaffChangedEvent event) {
+        Map<Long, Partition> partitions = this.partitions;
+        long id = event.getStaffId();
+        if (departmentById.containsKey(id)) {
+            long previousDepartmentId = departmentById.get(id);
+            Partition previous = partitions.get(previousDepartmentId);
+            Partition shrunk = previous == null ? null : previous.without(id);
+            if (shrunk == null) {
+                partitions.remove(previousDepartmentId);
+            } else {
+                partitions.put(previousDepartmentId, shrunk);
+            }
+            departmentById.remove(id);
+        }
+        if (!event.isDeleted()) {
+            long departmentId = event.getDepartmentId();
+            Partition current = partitions.get(departmentId);
+            partitions.put(departmentId, current == null
+                    ? new Partition(departmentId, new long[]{id}, new double[]{event.getSalary()})
+                    : current.with(id, event.getSalary()));
+            departmentById.put(id, departmentId);
+        }
+    }
+
+    // ==================== AGGREGATION ====================
+    public DepartmentPayroll aggregate(long departmentId, double[] percentiles) {
+        ensureLoaded();
+        Partition partition = partitions.get(departmentId);
+        return partition == null ? null : partition.aggregate(percentiles, asOf);
+    }
+
+    public List<DepartmentPayroll> aggregateAll(double[] percentiles) {
+        ensureLoaded();
+        Instant loadedAsOf = asOf;
+        Stream<Partition> stream = partitions.values().stream();
+        if (rowCount >= parallelThreshold) {
+            stream = stream.parallel();
+        }
+        return stream.map(partition -> partition.aggregate(percentiles, loadedAsOf))
+                .sorted(Comparator.comparingLong(DepartmentPayroll::getDepartmentId))
+                .toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("staff.analytics.snapshot.age", this,
+                        snapshot -> snapshot.asOf == null ? 0 : Duration.between(snapshot.asOf, Instant.now()).toMillis() / 1000.0)
+                .description("Seconds since the payroll snapshot was last reloaded from the database")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    // ==================== COLUMNS ====================
+    private static final class Partition {
+        final long departmentId;
+        final long[] ids;
+        final double[] salaries;
+
+        Partition(long departmentId, long[] ids, double[] salaries) {
+            this.departmentId = departmentId;
+            this.ids = ids;
+            this.salaries = salaries;
+        }
+
+        Partition with(long id, double salary) {
+            int index = Arrays.binarySearch(salaries, salary);
+            index = index < 0 ? -index - 1 : index;
+            long[] newIds = new long[ids.length + 1];
+            double[] newSalaries = new double[salaries.length + 1];
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(salaries, 0, newSalaries, 0, index);
+            newIds[index] = id;
+            newSalaries[index] = salary;
+            System.arraycopy(ids, index, newIds, index + 1, ids.length - index);
+            System.arraycopy(salaries, index, newSalaries, index + 1, salaries.length - index);
+            return new Partition(departmentId, newIds, newSalaries);
+        }
+
+        // Returns null when the partition becomes empty
+        Partition without(long id) {
+            int index = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return this;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            long[] newIds = new long[ids.length - 1];
+            double[] newSalaries = new double[salaries.length - 1];
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(salaries, 0, newSalaries, 0, index);
+            System.arraycopy(ids, index + 1, newIds, index, ids.length - index - 1);
+            System.arraycopy(salaries, index + 1, newSalaries, index, salaries.length - index - 1);
+            return new Partition(departmentId, newIds, newSalaries);
+        }
+
+        DepartmentPayroll aggregate(double[] percentiles, Instant asOf) {
+            int count = salaries.length;
+            double total = 0;
+            for (double salary : salaries) {
+                total += salary;
+            }
+            Map<String, Double> values = new LinkedHashMap<>();
+            for (double percentile : percentiles) {
+                values.put(label(percentile), percentile(percentile));
+            }
+            return new DepartmentPayroll(departmentId, count, total, total / count,
+                    salaries[0], salaries[count - 1], values, asOf);
+        }
+
+        // Linear interpolation between the two closest ranks
+        double percentile(double percentile) {
+            double position = percentile / 100 * (salaries.length - 1);
+            int lower = (int) Math.floor(position);
+            int upper = (int) Math.ceil(position);
+            return salaries[lower] + (salaries[upper] - salaries[lower]) * (position - lower);
+        }
+
+        private static String label(double percentile) {
+            return percentile == Math.rint(percentile) ? "p" + (long) percentile : "p" + percentile;
+        }
+    }
+
+    // Rows of one department as they stream in, already ordered by salary
+    private static final class PartitionBuilder {
+        final long departmentId;
+        long[] ids = new long[16];
+        double[] salaries = new double[16];
+        int size;
+
+        PartitionBuilder(long departmentId) {
+            this.departmentId = departmentId;
+        }
+
+        void append(long id, double salary) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                salaries = Arrays.copyOf(salaries, size * 2);
+            }
+            ids[size] = id;
+            salaries[size] = salary;
+            size++;
+        }
+
+        Partition build() {
+            return new Partition(departmentId, Arrays.copyOf(ids, size), Arrays.copyOf(salaries, size));
+        }
+    }
+
+    // Open-addressing long -> long map (linear probing, backward-shift deletion) to avoid boxing every row
+    private static final class LongLongMap {
+        private long[] keys = new long[1024];
+        private long[] values = new long[1024];
+        private boolean[] used = new boolean[1024];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean containsKey(long key) {
+            return used[find(key)];
+        }
+
+        long get(long key) {
+            return values[find(key)];
+        }
+
+        void put(long key, long value) {
+            int slot = find(key);
+            if (!used[slot]) {
+                if ((size + 1) * 4 > keys.length * 3) {
+                    grow();
+                    slot = find(key);
+                }
+                used[slot] = true;
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+        }
+
+        void remove(long key) {
+            int slot = find(key);
+            if (!used[slot]) {
+                return;
+            }
+            used[slot] = false;
+            size--;
+            int mask = keys.length - 1;
+            int next = (slot + 1) & mask;
+            while (used[next]) {
+                int home = hash(keys[next]) & mask;
+                // Move the entry back if its home position does not lie cyclically in (slot, next]
+                if (slot <= next ? (home <= slot || home > next) : (home <= slot && home > next)) {
+                    keys[slot] = keys[next];
+                    values[slot] = values[next];
+                    used[slot] = true;
+                    used[next] = false;
+                    slot = next;
+                }
+                next = (next + 1) & mask;
+            }
+        }
+
+        private int find(long key) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new long[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.college.management.service;
+
+import com.college.management.dto.StaffBatchOperation;
+import com.college.management.dto.StaffBatchResult;
+
+import java.util.List;
+
+public interface StaffBatchService {
+
+    // Runs the operations in order in one transaction. Atomic batches roll back entirely when any operation
+    // is invalid or fails; otherwise failed operations are reported and the rest commit
+    StaffBatchResult execute(List<StaffBatchOperation> operations, boolean atomic);
+}
@@ -0,0 +1,355 @@
+package com.college.management.service;
+
+import com.college.management.dto.BatchOperationResult;
+import com.college.management.dto.StaffBatchOperation;
+import com.college.management.dto.StaffBatchResult;
+import com.college.management.dto.StaffPatch;
+import com.college.management.entity.Staff;
+import com.college.management.exception.InvalidInputException;
+import com.college.management.repository.StaffRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Executes batches in one transaction over plain JDBC. Operations run in request order, but each run
+ * of consecutive operations of the same kind (inserts, updates/patches, deletes) goes to the database
+ * as one JDBC batch, so a sync job's hundreds of calls become a handful of round trips. Updates and
+ * deletes are the same conditional statements as the single-item endpoints; an affected-row count of
+ * zero means not found, or a version conflict when the row still exists.
+ * <p>
+ * Every run executes under a savepoint, set on the transaction's JDBC connection (the JPA transaction
+ * manager offers none of its own). When the database rejects a run's JDBC batch (a constraint, a foreign
+ * key), the run is rolled back to it and replayed one operation at a time, so only the operations the
+ * database refuses fail. Without atomic the rest of the batch still commits.
+ */
+@Service
+public class StaffBatchServiceImpl implements StaffBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaffBatchServiceImpl.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO staff (staff_id, staff_name, department_id, salary, version) VALUES (?, ?, ?, ?, 0)";
+    private static final String UPDATE_SQL =
+            "UPDATE staff SET staff_name = COALESCE(?, staff_name), department_id = COALESCE(?, department_id), "
+                    + "salary = COALESCE(?, salary), version = version + 1 "
+                    + "WHERE staff_id = ? AND (CAST(? AS bigint) IS NULL OR version = CAST(? AS bigint))";
+    private static final String DELETE_SQL =
+            "DELETE FROM staff WHERE staff_id = ? AND (CAST(? AS bigint) IS NULL OR version = CAST(? AS bigint))";
+
+    private static final int[] INSERT_TYPES = {Types.BIGINT, Types.VARCHAR, Types.BIGINT, Types.DOUBLE};
+    private static final int[] UPDATE_TYPES = {Types.VARCHAR, Types.BIGINT, Types.DOUBLE, Types.BIGINT, Types.BIGINT, Types.BIGINT};
+    private static final int[] DELETE_TYPES = {Types.BIGINT, Types.BIGINT, Types.BIGINT};
+
+    private enum Kind { INSERT, UPDATE, DELETE }
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private StaffIdAllocator staffIdAllocator;
+
+    @Autowired
+    private StaffCache staffCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${staff.batch.max-operations:1000}")
+    private int maxOperations;
+
+    public StaffBatchServiceImpl(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public StaffBatchResult execute(List<StaffBatchOperation> operations, boolean atomic) {
+        if (operations == null || operations.isEmpty() || operations.size() > maxOperations) {
+            throw new InvalidInputException("A batch must contain between 1 and " + maxOperations + " operations");
+        }
+        long start = System.nanoTime();
+        BatchOperationResult[] results = new BatchOperationResult[operations.size()];
+
+        // ==================== UP-FRONT VALIDATION ====================
+        boolean invalid = false;
+        for (int i = 0; i < operations.size(); i++) {
+            String error = validate(operations.get(i));
+            if (error != null) {
+                results[i] = new BatchOperationResult(i, 400, operations.get(i).getId(), error);
+                invalid = true;
+            }
+        }
+        boolean committed;
+        if (atomic && invalid) {
+            notApplied(results, operations);
+            committed = false;
+        } else {
+            committed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (apply(operations, results, atomic)) {
+                    return true;
+                }
+                status.setRollbackOnly();
+                return false;
+            }));
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        StaffBatchResult result = new StaffBatchResult(atomic, committed, elapsedMillis, List.of(results));
+        logger.info("Batch of {} operations (atomic={}) {} in {} ms: {} succeeded, {} failed", operations.size(), atomic,
+                committed ? "committed" : "rolled back", elapsedMillis, result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    private String validate(StaffBatchOperation operation) {
+        if (operation.getOp() == null) {
+            return "Operation type is required";
+        }
+        if (operation.getOp() != StaffBatchOperation.Type.CREATE && operation.getId() == null) {
+            return "Staff ID is required for " + operation.getOp();
+        }
+        return switch (operation.getOp()) {
+            case CREATE, UPDATE -> operation.getStaff() == null ? "Staff body is required" : firstViolation(operation.getStaff());
+            case PATCH -> operation.getPatch() == null ? "Patch body is required" : firstViolation(operation.getPatch());
+            case DELETE -> null;
+        };
+    }
+
+    private <T> String firstViolation(T body) {
+        for (ConstraintViolation<T> violation : validator.validate(body)) {
+            return violation.getMessage();
+        }
+        return null;
+    }
+
+    // ==================== EXECUTION ====================
+    // Returns false when an atomic batch has to be rolled back
+    private boolean apply(List<StaffBatchOperation> operations, BatchOperationResult[] results, boolean atomic) {
+        long[] ids = reserveCreateIds(operations, results);
+        List<Staff> created = new ArrayList<>();
+        Set<Long> updated = new LinkedHashSet<>();
+        Set<Long> deleted = new LinkedHashSet<>();
+
+        int i = 0;
+        while (i < operations.size()) {
+            if (results[i] != null) {
+                i++;
+                continue;
+            }
+            Kind kind = kind(operations.get(i));
+            List<Integer> run = new ArrayList<>();
+            while (i < operations.size() && (results[i] != null || kind(operations.get(i)) == kind)) {
+                if (results[i] == null) {
+                    run.add(i);
+                }
+                i++;
+            }
+            Kind runKind = kind;
+            RunStep step = indexes -> switch (runKind) {
+                case INSERT -> insert(operations, indexes, ids, results, created);
+                case UPDATE -> update(operations, indexes, results, updated);
+                case DELETE -> delete(operations, indexes, results, deleted);
+            };
+            boolean failed = underSavepoint(run, step, operations, results);
+            if (failed && atomic) {
+                notApplied(results, operations);
+                return false;
+            }
+        }
+
+        // Final state of updated rows for the in-memory views; previous departments are unknown, so all lists go
+        updated.removeAll(deleted);
+        created.forEach(staff -> eventPublisher.publishEvent(StaffChangedEvent.created(staff)));
+        staffRepository.findAllById(updated).forEach(staff -> eventPublisher.publishEvent(StaffChangedEvent.updated(staff, null)));
+        deleted.forEach(id -> eventPublisher.publishEvent(StaffChangedEvent.deleted(id, null)));
+        updated.forEach(staffCache::evictStaff);
+        deleted.forEach(staffCache::evictStaff);
+        if (!created.isEmpty() || !updated.isEmpty() || !deleted.isEmpty()) {
+            staffCache.evictAllDepartments();
+        }
+        return true;
+    }
+
+    // A database error aborts the whole transaction, so a run only touches the database under a savepoint. If the
+    // JDBC batch is rejected, the run is rolled back to it and replayed one operation at a time, each under its own
+    // savepoint, so the operations that fail are found. Returns whether any operation failed
+    private boolean underSavepoint(List<Integer> run, RunStep step,
+                                   List<StaffBatchOperation> operations, BatchOperationResult[] results) {
+        Savepoint savepoint = jdbcTemplate.execute((ConnectionCallback<Savepoint>) Connection::setSavepoint);
+        try {
+            boolean failed = step.apply(run);
+            jdbcTemplate.execute((ConnectionCallback<Object>) connection -> {
+                connection.releaseSavepoint(savepoint);
+                return null;
+            });
+            return failed;
+        } catch (DataAccessException ex) {
+            jdbcTemplate.execute((ConnectionCallback<Object>) connection -> {
+                connection.rollback(savepoint);
+                connection.releaseSavepoint(savepoint);
+                return null;
+            });
+            if (run.size() == 1) {
+                int index = run.get(0);
+                results[index] = rejected(index, operations.get(index).getId(), ex);
+                return true;
+            }
+            logger.debug("Batch run of {} operations rejected, retrying one by one: {}", run.size(),
+                    ex.getMostSpecificCause().getMessage());
+        }
+        boolean failed = false;
+        for (int index : run) {
+            failed |= underSavepoint(List.of(index), step, operations, results);
+        }
+        return failed;
+    }
+
+    private static BatchOperationResult rejected(int index, Long id, DataAccessException ex) {
+        int status = ex instanceof DataIntegrityViolationException ? 409 : 500;
+        return new BatchOperationResult(index, status, id, ex.getMostSpecificCause().getMessage());
+    }
+
+    // Executes a run (or one operation of it) and records its results; throws if the database rejects it
+    private interface RunStep {
+        boolean apply(List<Integer> run);
+    }
+
+    // Ids for all creates up front (one sequence round trip per ID_ALLOCATION_SIZE); ids[i] belongs to operation i
+    private long[] reserveCreateIds(List<StaffBatchOperation> operations, BatchOperationResult[] results) {
+        int creates = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            if (results[i] == null && operations.get(i).getOp() == StaffBatchOperation.Type.CREATE) {
+                creates++;
+            }
+        }
+        long[] ids = new long[operations.size()];
+        if (creates == 0) {
+            return ids;
+        }
+        long[] reserved = staffIdAllocator.reserveIds(creates);
+        int next = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            if (results[i] == null && operations.get(i).getOp() == StaffBatchOperation.Type.CREATE) {
+                ids[i] = reserved[next++];
+            }
+        }
+        return ids;
+    }
+
+    private boolean insert(List<StaffBatchOperation> operations, List<Integer> run, long[] ids,
+                           BatchOperationResult[] results, List<Staff> created) {
+        List<Object[]> args = new ArrayList<>(run.size());
+        for (int index : run) {
+            Staff staff = operations.get(index).getStaff();
+            args.add(new Object[]{ids[index], staff.getStaffName(), staff.getDepartmentId(), staff.getSalary()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args, INSERT_TYPES);
+        for (int index : run) {
+            Staff source = operations.get(index).getStaff();
+            Staff staff = new Staff(source.getStaffName(), source.getDepartmentId(), source.getSalary());
+            staff.setStaffId(ids[index]);
+            staff.setVersion(0L);
+            created.add(staff);
+            results[index] = new BatchOperationResult(index, 201, ids[index], null);
+        }
+        return false;
+    }
+
+    private boolean update(List<StaffBatchOperation> operations, List<Integer> run,
+                           BatchOperationResult[] results, Set<Long> updated) {
+        List<Object[]> args = new ArrayList<>(run.size());
+        for (int index : run) {
+            StaffBatchOperation operation = operations.get(index);
+            if (operation.getOp() == StaffBatchOperation.Type.PATCH) {
+                StaffPatch patch = operation.getPatch();
+                args.add(new Object[]{patch.getStaffName(), patch.getDepartmentId(), patch.getSalary(),
+                        operation.getId(), patch.getVersion(), patch.getVersion()});
+            } else {
+                Staff staff = operation.getStaff();
+                args.add(new Object[]{staff.getStaffName(), staff.getDepartmentId(), staff.getSalary(),
+                        operation.getId(), staff.getVersion(), staff.getVersion()});
+            }
+        }
+        return record(operations, run, jdbcTemplate.batchUpdate(UPDATE_SQL, args, UPDATE_TYPES), 200, results, updated);
+    }
+
+    private boolean delete(List<StaffBatchOperation> operations, List<Integer> run,
+                           BatchOperationResult[] results, Set<Long> deleted) {
+        List<Object[]> args = new ArrayList<>(run.size());
+        for (int index : run) {
+            StaffBatchOperation operation = operations.get(index);
+            args.add(new Object[]{operation.getId(), operation.getVersion(), operation.getVersion()});
+        }
+        return record(operations, run, jdbcTemplate.batchUpdate(DELETE_SQL, args, DELETE_TYPES), 204, results, deleted);
+    }
+
+    // Rows not affected are told apart with one lookup for the whole run; returns whether any operation failed
+    private boolean record(List<StaffBatchOperation> operations, List<Integer> run, int[] counts, int successStatus,
+                           BatchOperationResult[] results, Set<Long> touched) {
+        List<Long> missed = new ArrayList<>();
+        for (int r = 0; r < run.size(); r++) {
+            if (counts[r] == 0) {
+                missed.add(operations.get(run.get(r)).getId());
+            }
+        }
+        Set<Long> existing = missed.isEmpty() ? Set.of() : new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT staff_id FROM staff WHERE staff_id = ANY(?)", Long.class, (Object) missed.toArray(new Long[0])));
+        for (int r = 0; r < run.size(); r++) {
+            int index = run.get(r);
+            Long id = operations.get(index).getId();
+            if (counts[r] != 0) {
+                results[index] = new BatchOperationResult(index, successStatus, id, null);
+                touched.add(id);
+            } else if (existing.contains(id)) {
+                results[index] = new BatchOperationResult(index, 409, id, "Staff with id " + id + " is no longer at the expected version");
+            } else {
+                results[index] = new BatchOperationResult(index, 404, id, "Staff not found with id: " + id);
+            }
+        }
+        return !missed.isEmpty();
+    }
+
+    private static Kind kind(StaffBatchOperation operation) {
+        return switch (operation.getOp()) {
+            case CREATE -> Kind.INSERT;
+            case UPDATE, PATCH -> Kind.UPDATE;
+            case DELETE -> Kind.DELETE;
+        };
+    }
+
+    // A rolled-back batch keeps the reasons it failed; everything else is reported as not applied
+    private static void notApplied(BatchOperationResult[] results, List<StaffBatchOperation> operations) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null || results[i].isSucceeded()) {
+                results[i] = new BatchOperationResult(i, BatchOperationResult.NOT_APPLIED, operations.get(i).getId(), null);
+            }
+        }
+    }
+}
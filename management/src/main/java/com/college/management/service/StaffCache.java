@@ -0,0 +1,239 @@
+package com.college.management.service;
+
+import com.college.management.datasource.ReadRouting;
+import com.college.management.dto.CacheStatistics;
+import com.college.management.entity.Staff;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through access to the staff caches plus the targeted evictions the write paths need.
+ * Only found staff and non-empty department lists are cached, so "not found" answers never go stale.
+ * The caches hold immutable snapshots; every reader gets its own detached Staff instances to use as it likes.
+ * <p>
+ * Evictions issued inside a transaction are applied only after it commits. Every eviction first
+ * advances an invalidation counter for its key (striped, so memory stays bounded). A reader notes the
+ * counter before loading and stores what it loaded only if the counter has not moved, checking again
+ * after the put, so a load that raced with a write can never be left in the cache until it expires.
+ * Values loaded inside a read-write transaction are not cached at all: they may not be committed.
+ * <p>
+ * When caching is switched off the lookups simply fall through to the loader.
+ * Loaders always read from the primary: a cached value, like the ETag derived from it, must not
+ * come from a read replica that has not yet replayed the write that triggered the eviction.
+ */
+@Component
+public class StaffCache {
+
+    public static final String STAFF = "staff";
+    public static final String STAFF_BY_DEPARTMENT = "staffByDepartment";
+
+    private static final int STRIPES = 1024;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Resolved once per cache; empty when the cache manager has no such cache
+    private final Map<String, Optional<Cache>> caches = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLongArray> invalidations = Map.of(
+            STAFF, new AtomicLongArray(STRIPES),
+            STAFF_BY_DEPARTMENT, new AtomicLongArray(STRIPES));
+
+    public Staff getStaff(Long id, Supplier<Staff> loader) {
+        Snapshot cached = readThrough(STAFF, id, () -> Snapshot.of(loader.get()));
+        return cached == null ? null : cached.toStaff();
+    }
+
+    // Bulk read-through: cached members are served from the cache and the rest loaded with one loader call;
+    // every member returned is a fresh copy, and the result holds the found members only, in no particular order
+    public Map<Long, Staff> getStaff(Collection<Long> ids, Function<List<Long>, Map<Long, Staff>> loader) {
+        Cache cache = cache(STAFF);
+        List<Long> missing = new ArrayList<>();
+        Map<Long, Staff> found = new HashMap<>();
+        for (Long id : ids) {
+            Cache.ValueWrapper cached = cache == null ? null : cache.get(id);
+            if (cached != null) {
+                found.put(id, ((Snapshot) cached.get()).toStaff());
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long[] seen = new long[missing.size()];
+            for (int i = 0; i < seen.length; i++) {
+                seen[i] = invalidation(STAFF, missing.get(i));
+            }
+            Map<Long, Staff> loaded = ReadRouting.onPrimary(() -> loader.apply(missing));
+            boolean store = cache != null && cacheable();
+            for (int i = 0; i < seen.length; i++) {
+                Staff staff = loaded.get(missing.get(i));
+                if (staff != null) {
+                    // Loaded entities may be shared with other callers (StaffLoader); the caller gets its own copy
+                    Snapshot snapshot = Snapshot.of(staff);
+                    if (store) {
+                        put(cache, STAFF, missing.get(i), snapshot, seen[i]);
+                    }
+                    found.put(missing.get(i), snapshot.toStaff());
+                }
+            }
+        }
+        return found;
+    }
+
+    public List<Staff> getDepartment(Long departmentId, Supplier<List<Staff>> loader) {
+        List<Snapshot> cached = readThrough(STAFF_BY_DEPARTMENT, departmentId, () -> {
+            List<Staff> staffList = loader.get();
+            List<Snapshot> snapshots = new ArrayList<>(staffList.size());
+            for (Staff staff : staffList) {
+                snapshots.add(Snapshot.of(staff));
+            }
+            return List.copyOf(snapshots);
+        });
+        List<Staff> staffList = new ArrayList<>(cached.size());
+        for (Snapshot snapshot : cached) {
+            staffList.add(snapshot.toStaff());
+        }
+        return staffList;
+    }
+
+    public void evictStaff(Long id) {
+        evict(STAFF, id);
+    }
+
+    public void evictDepartment(Long departmentId) {
+        evict(STAFF_BY_DEPARTMENT, departmentId);
+    }
+
+    // Used by writes that touch an unknown set of departments, such as bulk imports
+    public void evictAllDepartments() {
+        Cache cache = cache(STAFF_BY_DEPARTMENT);
+        afterCommit(() -> {
+            AtomicLongArray counters = invalidations.get(STAFF_BY_DEPARTMENT);
+            for (int i = 0; i < STRIPES; i++) {
+                counters.incrementAndGet(i);
+            }
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+    }
+
+    public List<CacheStatistics> statistics() {
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (String name : List.of(STAFF, STAFF_BY_DEPARTMENT)) {
+            Cache cache = cache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                com.github.benmanes.caffeine.cache.stats.CacheStats stats = caffeine.stats();
+                statistics.add(new CacheStatistics(name, caffeine.estimatedSize(), stats.hitCount(),
+                        stats.missCount(), stats.evictionCount(), stats.hitRate()));
+            }
+        }
+        return statistics;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T readThrough(String cacheName, Long key, Supplier<T> loader) {
+        Cache cache = cache(cacheName);
+        if (cache == null) {
+            return ReadRouting.onPrimary(loader);
+        }
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        long seen = invalidation(cacheName, key);
+        T value = ReadRouting.onPrimary(loader);
+        if (value != null && !(value instanceof List<?> list && list.isEmpty()) && cacheable()) {
+            put(cache, cacheName, key, value, seen);
+        }
+        return value;
+    }
+
+    // putIfAbsent never replaces what a later reader stored; the second check catches an eviction that ran
+    // between the first check and the put, which would otherwise leave the old value behind
+    private void put(Cache cache, String cacheName, Long key, Object value, long seen) {
+        if (invalidation(cacheName, key) != seen) {
+            return;
+        }
+        cache.putIfAbsent(key, value);
+        if (invalidation(cacheName, key) != seen) {
+            cache.evict(key);
+        }
+    }
+
+    private void evict(String cacheName, Long key) {
+        if (key == null) {
+            return;
+        }
+        Cache cache = cache(cacheName);
+        afterCommit(() -> {
+            invalidations.get(cacheName).incrementAndGet(stripe(key));
+            if (cache != null) {
+                cache.evict(key);
+            }
+        });
+    }
+
+    private long invalidation(String cacheName, Long key) {
+        return invalidations.get(cacheName).get(stripe(key));
+    }
+
+    // Inside a read-write transaction the loader may see the transaction's own, not yet committed, writes
+    private static boolean cacheable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    // A reader that misses the cache before the commit would otherwise reload and cache the old rows
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static int stripe(Long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 54);
+    }
+
+    private Cache cache(String cacheName) {
+        return caches.computeIfAbsent(cacheName, name -> Optional.ofNullable(cacheManager.getCache(name))).orElse(null);
+    }
+
+    // What the caches hold: an immutable copy of the row, never the entity a loader returned
+    private record Snapshot(Long staffId, String staffName, Long departmentId, Double salary, Long version) {
+
+        static Snapshot of(Staff staff) {
+            return staff == null ? null
+                    : new Snapshot(staff.getStaffId(), staff.getStaffName(), staff.getDepartmentId(), staff.getSalary(), staff.getVersion());
+        }
+
+        Staff toStaff() {
+            Staff staff = new Staff(staffName, departmentId, salary);
+            staff.setStaffId(staffId);
+            staff.setVersion(version);
+            return staff;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.college.management.service;
+
+import com.college.management.dto.StaffChange;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes the staff_outbox to change-stream subscribers. A single relay thread reads committed outbox rows
+ * in id order, in batches, woken right after local commits and polling for writes made elsewhere. Ids are
+ * handed out at insert but become visible at commit, so a missing id may still be in flight: the relay stops
+ * in front of such a gap and only skips it once it has been open for gap-timeout (a failed commit).
+ * <p>
+ * Every subscriber has a bounded queue drained by its own virtual thread, which sends whatever has piled up
+ * as one write. A subscriber that falls behind by more than the queue holds loses its queue, not the events:
+ * it re-reads them from the outbox from its last sent offset, the same way a resumed subscription catches up.
+ * Catch-up reads stop at the relay's published offset so they never run ahead of an open gap.
+ */
+@Component
+public class StaffChangeFeed implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaffChangeFeed.class);
+
+    /**
+     * Where a subscription's changes go; called on the subscription's own thread. An IOException ends it.
+     */
+    public interface Sink {
+
+        void send(List<StaffChange> changes) throws IOException;
+
+        // Nothing to send for a while; keeps proxies from closing the idle connection
+        void heartbeat() throws IOException;
+
+        // The requested resume offset is older than the retained history: reload, then apply what follows
+        void reset() throws IOException;
+    }
+
+    @Autowired
+    private StaffOutbox outbox;
+
+    @Value("${staff.events.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${staff.events.queue-capacity:1000}")
+    private int queueCapacity = 1000;
+
+    @Value("${staff.events.poll-interval:1s}")
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    @Value("${staff.events.gap-timeout:1s}")
+    private Duration gapTimeout = Duration.ofSeconds(1);
+
+    @Value("${staff.events.heartbeat:15s}")
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    @Value("${staff.events.retention:24h}")
+    private Duration retention = Duration.ofHours(24);
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final LongAdder relayed = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private volatile long published;
+    private long gapOpenedAt;
+
+    public StaffChangeFeed() {
+    }
+
+    StaffChangeFeed(StaffOutbox outbox, Duration gapTimeout) {
+        this.outbox = outbox;
+        this.gapTimeout = gapTimeout;
+    }
+
+    // ==================== RELAY ====================
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRelay() {
+        published = outbox.latestId();
+        Thread relay = new Thread(this::relay, "outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+        logger.info("Change feed relaying staff_outbox from offset {}", published);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStaffChanged(StaffChangedEvent event) {
+        wakeUp.release();
+    }
+
+    private void relay() {
+        long nextPurge = 0;
+        while (true) {
+            try {
+                boolean more = relayBatch();
+                if (System.currentTimeMillis() >= nextPurge) {
+                    int purged = outbox.purgeBefore(Instant.now().minus(retention));
+                    if (purged > 0) {
+                        logger.info("Purged {} outbox rows older than {}", purged, retention);
+                    }
+                    nextPurge = System.currentTimeMillis() + Math.min(retention.toMillis(), Duration.ofMinutes(10).toMillis());
+                }
+                if (!more) {
+                    // While a gap is open, look again soon rather than after a full poll interval
+                    long waitMillis = gapOpenedAt != 0 ? Math.min(pollInterval.toMillis(), 50) : pollInterval.toMillis();
+                    wakeUp.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                logger.warn("Outbox relay failed, retrying: {}", ex.getMessage());
+                sleepQuietly(pollInterval);
+            }
+        }
+    }
+
+    // Returns true when a full batch was relayed and more may be waiting
+    boolean relayBatch() {
+        List<StaffChange> rows = outbox.read(published, Long.MAX_VALUE, null, batchSize);
+        long expected = published + 1;
+        int ready = 0;
+        for (StaffChange row : rows) {
+            if (row.getId() != expected) {
+                if (gapOpenedAt == 0) {
+                    gapOpenedAt = System.currentTimeMillis();
+                }
+                if (System.currentTimeMillis() - gapOpenedAt < gapTimeout.toMillis()) {
+                    break;
+                }
+                logger.debug("Skipping outbox ids {}..{}, never committed", expected, row.getId() - 1);
+            }
+            gapOpenedAt = 0;
+            expected = row.getId() + 1;
+            ready++;
+        }
+        if (ready == 0) {
+            return false;
+        }
+        List<StaffChange> batch = rows.subList(0, ready);
+        // Published first: a subscription that registers meanwhile either sees the new offset or gets the batch
+        published = batch.get(batch.size() - 1).getId();
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(batch);
+        }
+        relayed.add(ready);
+        return ready == batchSize;
+    }
+
+    long published() {
+        return published;
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== SUBSCRIPTIONS ====================
+    /**
+     * Streams changes concerning departmentId (all when null) to the sink, starting after the given offset
+     * or, without one, with the next change. Returns a handle to close the subscription.
+     */
+    public Runnable subscribe(Long departmentId, Long after, Sink sink) {
+        Subscription subscription = new Subscription(departmentId, sink);
+        subscriptions.add(subscription);
+        // Registered before reading the offset, so every later change reaches the queue (see relayBatch)
+        subscription.cursor = after != null ? after : published;
+        Thread.ofVirtual().name("change-feed").start(() -> subscription.run(after != null));
+        return subscription::close;
+    }
+
+    int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    private final class Subscription {
+
+        private final Long departmentId;
+        private final Sink sink;
+        private final BlockingQueue<StaffChange> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private volatile boolean open = true;
+        // Offset of the last change sent (or skipped by the filter); only touched by the subscription thread
+        private long cursor;
+
+        Subscription(Long departmentId, Sink sink) {
+            this.departmentId = departmentId;
+            this.sink = sink;
+        }
+
+        // Relay thread: never blocks on a slow subscriber
+        void offer(List<StaffChange> batch) {
+            for (StaffChange change : batch) {
+                if (change.concerns(departmentId) && !queue.offer(change)) {
+                    overflowed.set(true);
+                    queue.clear();
+                    // Wakes a subscriber blocked on the (now empty) queue so it sees the flag and catches up
+                    queue.offer(change);
+                    overflows.increment();
+                    return;
+                }
+            }
+        }
+
+        void run(boolean resume) {
+            try {
+                boolean catchingUp = resume && checkRetained();
+                List<StaffChange> batch = new ArrayList<>();
+                while (open) {
+                    if (catchingUp) {
+                        catchingUp = catchUp();
+                        continue;
+                    }
+                    StaffChange first = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (overflowed.getAndSet(false)) {
+                        catchingUp = true;
+                        continue;
+                    }
+                    if (first == null) {
+                        sink.heartbeat();
+                        continue;
+                    }
+                    batch.clear();
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    send(batch);
+                }
+            } catch (IOException | RuntimeException ex) {
+                logger.debug("Change feed subscription ended: {}", ex.getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        // False (after telling the client to reload) when the resume offset has already been purged
+        private boolean checkRetained() throws IOException {
+            Long oldest = outbox.oldestId();
+            long firstRetained = oldest != null ? oldest : published + 1;
+            if (cursor + 1 >= firstRetained) {
+                return true;
+            }
+            sink.reset();
+            cursor = published;
+            return false;
+        }
+
+        // One page from the outbox; returns whether there is more to catch up on
+        private boolean catchUp() throws IOException {
+            long upTo = published;
+            List<StaffChange> page = outbox.read(cursor, upTo, departmentId, batchSize);
+            send(page);
+            if (page.size() < batchSize) {
+                cursor = Math.max(cursor, upTo);
+                return false;
+            }
+            return true;
+        }
+
+        // Changes at or below the cursor were already sent (catch-up and queue overlap)
+        private void send(List<StaffChange> changes) throws IOException {
+            List<StaffChange> fresh = new ArrayList<>(changes.size());
+            for (StaffChange change : changes) {
+                if (change.getId() > cursor) {
+                    fresh.add(change);
+                }
+            }
+            if (!fresh.isEmpty()) {
+                sink.send(fresh);
+                cursor = fresh.get(fresh.size() - 1).getId();
+            }
+        }
+
+        // Not interrupted: the thread may be inside a JDBC read; it notices within one heartbeat interval
+        void close() {
+            open = false;
+            subscriptions.remove(this);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("staff.events.subscribers", subscriptions, List::size)
+                .description("Open change-stream subscriptions")
+                .register(registry);
+        FunctionCounter.builder("staff.events.relayed", relayed, LongAdder::sum)
+                .description("Outbox changes published to subscribers")
+                .register(registry);
+        FunctionCounter.builder("staff.events.overflows", overflows, LongAdder::sum)
+                .description("Times a slow subscriber's queue overflowed and it fell back to reading the outbox")
+                .register(registry);
+        Gauge.builder("staff.events.offset", this, feed -> feed.published)
+                .description("Offset of the last change published")
+                .register(registry);
+    }
+}
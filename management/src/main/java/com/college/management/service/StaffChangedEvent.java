@@ -0,0 +1,84 @@
+package com.college.management.service;
+
+import com.college.management.entity.Staff;
+
+/**
+ * Published by the staff write paths so in-memory views (name index, payroll snapshot) can follow
+ * along. Listeners receive it after the surrounding transaction commits, or immediately when there is none;
+ * StaffOutbox also records it inside the transaction for the change stream.
+ */
+public class StaffChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final long staffId;
+    private final String staffName;
+    private final Long departmentId;
+    private final Long previousDepartmentId;
+    private final Double salary;
+    private final Long version;
+
+    private StaffChangedEvent(Type type, long staffId, String staffName, Long departmentId, Long previousDepartmentId,
+                              Double salary, Long version) {
+        this.type = type;
+        this.staffId = staffId;
+        this.staffName = staffName;
+        this.departmentId = departmentId;
+        this.previousDepartmentId = previousDepartmentId;
+        this.salary = salary;
+        this.version = version;
+    }
+
+    public static StaffChangedEvent created(Staff staff) {
+        return new StaffChangedEvent(Type.CREATED, staff.getStaffId(), staff.getStaffName(), staff.getDepartmentId(), null,
+                staff.getSalary(), staff.getVersion());
+    }
+
+    // Previous department only when it is known and differs, so department subscribers learn about moves out
+    public static StaffChangedEvent updated(Staff staff, Long previousDepartmentId) {
+        Long movedFrom = previousDepartmentId == null || previousDepartmentId.equals(staff.getDepartmentId())
+                ? null : previousDepartmentId;
+        return new StaffChangedEvent(Type.UPDATED, staff.getStaffId(), staff.getStaffName(), staff.getDepartmentId(), movedFrom,
+                staff.getSalary(), staff.getVersion());
+    }
+
+    // Department of the deleted row when the write path knows it
+    public static StaffChangedEvent deleted(long staffId, Long departmentId) {
+        return new StaffChangedEvent(Type.DELETED, staffId, null, departmentId, null, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getStaffId() {
+        return staffId;
+    }
+
+    public String getStaffName() {
+        return staffName;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public Long getPreviousDepartmentId() {
+        return previousDepartmentId;
+    }
+
+    public Double getSalary() {
+        return salary;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public boolean isDeleted() {
+        return type == Type.DELETED;
+    }
+}
@@ -0,0 +1,32 @@
+package com.college.management.service;
+
+import com.college.management.entity.Staff;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out staff ids for writes that bypass JPA (COPY imports, batched JDBC inserts). The ids come from
+ * Hibernate's own generator for Staff, so they share its pooled optimizer with the JPA inserts: one nextval
+ * per ID_ALLOCATION_SIZE ids, and no range can be handed out twice, however the optimizer reads the sequence.
+ */
+@Component
+public class StaffIdAllocator {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Must run inside a transaction; the sequence is read through its connection
+    public long[] reserveIds(int count) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Staff.class).getGenerator();
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = ((Number) generator.generate(session, null)).longValue();
+        }
+        return ids;
+    }
+}
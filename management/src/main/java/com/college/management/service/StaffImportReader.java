@@ -0,0 +1,212 @@
+package com.college.management.service;
+
+import com.college.management.dto.ImportRowError;
+import com.college.management.entity.Staff;
+import com.college.management.exception.InvalidInputException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads an upload one row at a time so imports never hold the whole file in memory.
+ * CSV uploads need a header naming the staffName, departmentId and salary columns (in any order);
+ * quoted fields may not span lines. JSON uploads are a top-level array of staff objects.
+ */
+abstract class StaffImportReader implements Iterator<StaffImportReader.Row>, AutoCloseable {
+
+    // Either a parsed staff member or the reason the row could not be parsed
+    static final class Row {
+        final long number;
+        final Staff staff;
+        final ImportRowError error;
+
+        Row(long number, Staff staff, ImportRowError error) {
+            this.number = number;
+            this.staff = staff;
+            this.error = error;
+        }
+    }
+
+    static StaffImportReader open(InputStream in, ImportFormat format, ObjectMapper objectMapper) {
+        try {
+            return format == ImportFormat.CSV ? new Csv(in) : new Json(in, objectMapper);
+        } catch (IOException ex) {
+            throw new InvalidInputException("Unable to read import file: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public abstract void close() throws IOException;
+
+    private static final class Csv extends StaffImportReader {
+
+        private final BufferedReader reader;
+        private final int nameColumn;
+        private final int departmentColumn;
+        private final int salaryColumn;
+        private final int columnCount;
+        private long rowNumber;
+        private String nextLine;
+
+        Csv(InputStream in) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String header = reader.readLine();
+            if (header == null) {
+                throw new InvalidInputException("CSV import is empty");
+            }
+            List<String> columns = split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+            this.columnCount = columns.size();
+            this.nameColumn = column(columns, "staffname", "staff_name");
+            this.departmentColumn = column(columns, "departmentid", "department_id");
+            this.salaryColumn = column(columns, "salary", "salary");
+            advance();
+        }
+
+        private static int column(List<String> header, String name, String alias) {
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i).trim().toLowerCase(Locale.ROOT);
+                if (column.equals(name) || column.equals(alias)) {
+                    return i;
+                }
+            }
+            throw new InvalidInputException("CSV header is missing column: " + name);
+        }
+
+        // Skips blank lines so trailing newlines do not count as rows
+        private void advance() throws IOException {
+            do {
+                nextLine = reader.readLine();
+            } while (nextLine != null && nextLine.isBlank());
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextLine != null;
+        }
+
+        @Override
+        public Row next() {
+            if (nextLine == null) {
+                throw new NoSuchElementException();
+            }
+            long number = ++rowNumber;
+            Row row = parse(number, nextLine);
+            try {
+                advance();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return row;
+        }
+
+        private Row parse(long number, String line) {
+            List<String> cells;
+            try {
+                cells = split(line);
+            } catch (InvalidInputException ex) {
+                return new Row(number, null, new ImportRowError(number, null, ex.getMessage()));
+            }
+            if (cells.size() != columnCount) {
+                return new Row(number, null, new ImportRowError(number, null,
+                        "Expected " + columnCount + " columns but found " + cells.size()));
+            }
+            Staff staff = new Staff();
+            staff.setStaffName(cells.get(nameColumn).trim());
+            try {
+                String department = cells.get(departmentColumn).trim();
+                staff.setDepartmentId(department.isEmpty() ? null : Long.valueOf(department));
+            } catch (NumberFormatException ex) {
+                return new Row(number, null, new ImportRowError(number, "departmentId", "Department ID must be a whole number"));
+            }
+            try {
+                String salary = cells.get(salaryColumn).trim();
+                staff.setSalary(salary.isEmpty() ? null : Double.valueOf(salary));
+            } catch (NumberFormatException ex) {
+                return new Row(number, null, new ImportRowError(number, "salary", "Salary must be a number"));
+            }
+            return new Row(number, staff, null);
+        }
+
+        // RFC 4180 field splitting for a single line: quoted fields with "" escapes
+        static List<String> split(String line) {
+            List<String> cells = new ArrayList<>();
+            StringBuilder cell = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cell.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        cell.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else {
+                    cell.append(c);
+                }
+            }
+            if (quoted) {
+                throw new InvalidInputException("Unterminated quoted field");
+            }
+            cells.add(cell.toString());
+            return cells;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class Json extends StaffImportReader {
+
+        private final MappingIterator<Staff> iterator;
+        private long rowNumber;
+
+        Json(InputStream in, ObjectMapper objectMapper) throws IOException {
+            this.iterator = objectMapper.readerFor(Staff.class).readValues(in);
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return iterator.hasNextValue();
+            } catch (IOException ex) {
+                throw new InvalidInputException("Malformed JSON after row " + rowNumber + ": " + ex.getMessage());
+            }
+        }
+
+        @Override
+        public Row next() {
+            long number = ++rowNumber;
+            try {
+                return new Row(number, iterator.nextValue(), null);
+            } catch (IOException ex) {
+                throw new InvalidInputException("Malformed JSON at row " + number + ": " + ex.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            iterator.close();
+        }
+    }
+}
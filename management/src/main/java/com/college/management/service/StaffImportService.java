@@ -0,0 +1,12 @@
+package com.college.management.service;
+
+import com.college.management.dto.BulkImportResult;
+
+import java.io.InputStream;
+
+public interface StaffImportService {
+
+    // Imports staff in chunks of chunkSize rows, each committed in its own transaction;
+    // copy selects the PostgreSQL COPY FROM STDIN fast path instead of batched JPA inserts
+    BulkImportResult importStaff(InputStream in, ImportFormat format, int chunkSize, boolean copy);
+}
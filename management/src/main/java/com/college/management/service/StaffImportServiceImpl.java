@@ -0,0 +1,202 @@
+package com.college.management.service;
+
+import com.college.management.dto.BulkImportResult;
+import com.college.management.dto.ImportChunkResult;
+import com.college.management.dto.ImportRowError;
+import com.college.management.entity.Staff;
+import com.college.management.exception.InvalidInputException;
+import com.college.management.repository.StaffRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class StaffImportServiceImpl implements StaffImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaffImportServiceImpl.class);
+
+    private static final String COPY_SQL =
+            "COPY staff (staff_id, staff_name, department_id, salary) FROM STDIN WITH (FORMAT csv)";
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StaffCache staffCache;
+
+    @Autowired
+    private StaffIdAllocator staffIdAllocator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${staff.import.max-chunk-size:10000}")
+    private int maxChunkSize;
+
+    public StaffImportServiceImpl(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public BulkImportResult importStaff(InputStream in, ImportFormat format, int chunkSize, boolean copy) {
+        if (chunkSize < 1 || chunkSize > maxChunkSize) {
+            throw new InvalidInputException("Chunk size must be between 1 and " + maxChunkSize);
+        }
+        long start = System.nanoTime();
+        List<ImportChunkResult> chunks = new ArrayList<>();
+        long totalRows = 0;
+        long importedRows = 0;
+
+        try (StaffImportReader reader = StaffImportReader.open(in, format, objectMapper)) {
+            List<Staff> valid = new ArrayList<>(chunkSize);
+            List<ImportRowError> errors = new ArrayList<>();
+            long firstRow = 1;
+            boolean more = true;
+            while (more) {
+                String failure = null;
+                try {
+                    while (valid.size() + errors.size() < chunkSize && reader.hasNext()) {
+                        StaffImportReader.Row row = reader.next();
+                        ImportRowError error = row.error != null ? row.error : validate(row.number, row.staff);
+                        if (error != null) {
+                            errors.add(error);
+                        } else {
+                            // Always a new row: an id or version in the file would make save() merge instead
+                            row.staff.setStaffId(null);
+                            row.staff.setVersion(null);
+                            valid.add(row.staff);
+                        }
+                    }
+                    more = reader.hasNext();
+                } catch (InvalidInputException ex) {
+                    // A malformed upload cannot be resynchronised; keep what was committed and report where it broke
+                    failure = ex.getMessage();
+                    more = false;
+                }
+                long lastRow = firstRow + valid.size() + errors.size() - 1;
+                if (lastRow < firstRow && failure == null) {
+                    break;
+                }
+                int imported = 0;
+                if (failure == null && !valid.isEmpty()) {
+                    try {
+                        imported = copy ? copyChunk(valid) : insertChunk(valid);
+                    } catch (DataAccessException ex) {
+                        failure = ex.getMostSpecificCause().getMessage();
+                        logger.warn("Import chunk {} (rows {}-{}) rolled back: {}", chunks.size() + 1, firstRow, lastRow, failure);
+                    }
+                }
+                chunks.add(new ImportChunkResult(chunks.size() + 1, firstRow, lastRow, imported, List.copyOf(errors), failure));
+                totalRows += lastRow - firstRow + 1;
+                importedRows += imported;
+                firstRow = lastRow + 1;
+                valid.clear();
+                errors.clear();
+            }
+        } catch (IOException ex) {
+            throw new InvalidInputException("Unable to read import file: " + ex.getMessage());
+        }
+
+        if (importedRows > 0) {
+            staffCache.evictAllDepartments();
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        BulkImportResult result = new BulkImportResult(totalRows, importedRows, elapsedMillis, copy, chunks);
+        logger.info("Imported {} of {} staff rows in {} ms ({} rows/sec, copy={})",
+                importedRows, totalRows, elapsedMillis, Math.round(result.getRowsPerSecond()), copy);
+        return result;
+    }
+
+    private ImportRowError validate(long rowNumber, Staff staff) {
+        for (ConstraintViolation<Staff> violation : validator.validate(staff)) {
+            return new ImportRowError(rowNumber, violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return null;
+    }
+
+    // Batched JPA inserts: ids come from the pooled sequence, so Hibernate can group them into JDBC batches
+    private int insertChunk(List<Staff> chunk) {
+        Integer saved = transactionTemplate.execute(status -> {
+            List<Staff> rows = staffRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+            publishCreated(rows);
+            return rows.size();
+        });
+        return saved == null ? 0 : saved;
+    }
+
+    // COPY fast path: ids come from the same generator as JPA inserts, so the two never collide
+    private int copyChunk(List<Staff> chunk) {
+        Long copied = transactionTemplate.execute(status -> {
+            long[] ids = staffIdAllocator.reserveIds(chunk.size());
+            StringBuilder csv = new StringBuilder(chunk.size() * 48);
+            for (int i = 0; i < chunk.size(); i++) {
+                Staff staff = chunk.get(i);
+                staff.setStaffId(ids[i]);
+                // COPY leaves the version column to its default
+                staff.setVersion(0L);
+                csv.append(ids[i]).append(',')
+                        .append('"').append(staff.getStaffName().replace("\"", "\"\"")).append('"').append(',')
+                        .append(staff.getDepartmentId()).append(',')
+                        .append(staff.getSalary()).append('\n');
+            }
+            Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                try {
+                    return copyManager.copyIn(COPY_SQL, new StringReader(csv.toString()));
+                } catch (IOException ex) {
+                    throw new SQLException("COPY into staff failed", ex);
+                }
+            });
+            publishCreated(chunk);
+            return rows;
+        });
+        return copied == null ? 0 : copied.intValue();
+    }
+
+    // Inside the chunk's transaction: StaffOutbox writes the whole chunk as one batch just before the commit,
+    // and the after-commit listeners only hear about rows that were committed
+    private void publishCreated(List<Staff> chunk) {
+        for (Staff staff : chunk) {
+            eventPublisher.publishEvent(StaffChangedEvent.created(staff));
+        }
+    }
+}
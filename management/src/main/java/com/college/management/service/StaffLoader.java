@@ -0,0 +1,189 @@
+package com.college.management.service;
+
+import com.college.management.datasource.ReadRouting;
+import com.college.management.entity.Staff;
+import com.college.management.repository.StaffRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Primary-key lookups behind the staff cache, coalesced across concurrent requests. A caller asking for
+ * an id that is already being looked up waits for that lookup instead of starting its own (single-flight).
+ * Distinct ids requested within batch-window of each other are loaded together with one
+ * "WHERE staff_id IN (...)" query of at most max-batch-size ids, run on a virtual thread.
+ * <p>
+ * A committed write to a staff member detaches its in-flight lookup, so callers arriving after the commit
+ * start a fresh one rather than joining a query that may have read the old row. Lookups always read from
+ * the primary, as StaffCache requires of its loaders.
+ */
+@Component
+public class StaffLoader implements MeterBinder {
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Value("${staff.lookup.batch-window:1ms}")
+    private Duration batchWindow = Duration.ofMillis(1);
+
+    @Value("${staff.lookup.max-batch-size:100}")
+    private int maxBatchSize = 100;
+
+    private final Map<Long, CompletableFuture<Staff>> lookups = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    // Lookups waiting for the batch window to close; guarded by lock. A list, not a map: after a write
+    // detaches a pending lookup, a second one for the same id may join the same batch
+    private List<Lookup> pending = new ArrayList<>();
+    private final LongAdder requested = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    public StaffLoader() {
+    }
+
+    StaffLoader(StaffRepository staffRepository, Duration batchWindow, int maxBatchSize) {
+        this.staffRepository = staffRepository;
+        this.batchWindow = batchWindow;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    // The staff member with this id, or null when there is none
+    public Staff load(Long id) {
+        return await(lookup(id));
+    }
+
+    // The staff members found among ids, keyed and ordered by id as given; missing ids are left out
+    public Map<Long, Staff> loadAll(Collection<Long> ids) {
+        Map<Long, CompletableFuture<Staff>> futures = new LinkedHashMap<>();
+        for (Long id : ids) {
+            futures.computeIfAbsent(id, this::lookup);
+        }
+        Map<Long, Staff> found = new LinkedHashMap<>();
+        for (Map.Entry<Long, CompletableFuture<Staff>> entry : futures.entrySet()) {
+            Staff staff = await(entry.getValue());
+            if (staff != null) {
+                found.put(entry.getKey(), staff);
+            }
+        }
+        return found;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStaffChanged(StaffChangedEvent event) {
+        lookups.remove(event.getStaffId());
+    }
+
+    private CompletableFuture<Staff> lookup(Long id) {
+        requested.increment();
+        CompletableFuture<Staff> future = new CompletableFuture<>();
+        CompletableFuture<Staff> inFlight = lookups.putIfAbsent(id, future);
+        if (inFlight != null) {
+            coalesced.increment();
+            return inFlight;
+        }
+        List<Lookup> full = null;
+        boolean opensWindow;
+        synchronized (lock) {
+            pending.add(new Lookup(id, future));
+            opensWindow = pending.size() == 1;
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new ArrayList<>();
+            }
+        }
+        if (full != null) {
+            List<Lookup> batch = full;
+            Thread.ofVirtual().name("staff-loader").start(() -> dispatch(batch));
+        } else if (opensWindow) {
+            Thread.ofVirtual().name("staff-loader").start(this::dispatchAfterWindow);
+        }
+        return future;
+    }
+
+    // A window whose batch filled up early finds a newer (or no) batch here; either is fine to send
+    private void dispatchAfterWindow() {
+        if (!batchWindow.isZero()) {
+            LockSupport.parkNanos(batchWindow.toNanos());
+        }
+        List<Lookup> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(List<Lookup> batch) {
+        batches.increment();
+        Set<Long> ids = new HashSet<>();
+        for (Lookup lookup : batch) {
+            ids.add(lookup.id());
+        }
+        Map<Long, Staff> found = new HashMap<>();
+        RuntimeException failure = null;
+        try {
+            for (Staff staff : ReadRouting.onPrimary(() -> staffRepository.findAllById(ids))) {
+                found.put(staff.getStaffId(), staff);
+            }
+        } catch (RuntimeException ex) {
+            failure = ex;
+        }
+        for (Lookup lookup : batch) {
+            lookups.remove(lookup.id(), lookup.future());
+            if (failure != null) {
+                lookup.future().completeExceptionally(failure);
+            } else {
+                lookup.future().complete(found.get(lookup.id()));
+            }
+        }
+    }
+
+    private record Lookup(Long id, CompletableFuture<Staff> future) {
+    }
+
+    // Rethrows the lookup's own exception (e.g. DatabaseBusyException) so the usual error mapping applies
+    private static Staff await(CompletableFuture<Staff> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("staff.lookup.requested", requested, LongAdder::sum)
+                .description("Staff ids requested from the loader (cache misses and multi-gets)")
+                .register(registry);
+        FunctionCounter.builder("staff.lookup.coalesced", coalesced, LongAdder::sum)
+                .description("Requested ids that joined a lookup already under way")
+                .register(registry);
+        FunctionCounter.builder("staff.lookup.batches", batches, LongAdder::sum)
+                .description("Batched primary-key queries sent to the database")
+                .register(registry);
+    }
+}
@@ -0,0 +1,557 @@
+package com.college.management.service;
+
+import com.college.management.datasource.ReadRouting;
+import com.college.management.repository.StaffRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram inverted index over staff names, used for typeahead search.
+ * Names are lower-cased and whitespace-collapsed; every name contributes the trigrams of the whole
+ * padded name plus those of each padded word (as pg_trgm does), so one- and two-letter queries can be
+ * answered as word prefixes. Posting lists are sorted primitive id arrays to keep the heap small.
+ * <p>
+ * The index is local to this instance and follows writes through StaffChangedEvent. It is built in the
+ * background at startup and reports itself ready once fully loaded. Writes it never hears about (other
+ * instances, direct SQL) are picked up by a full rebuild every refresh-interval; like PayrollSnapshot, the
+ * new table is built off to the side, events arriving meanwhile are replayed on top, and it is swapped in
+ * whole, so searches never see a half-built index.
+ */
+@Component
+public class StaffNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaffNameIndex.class);
+
+    // Minimum share of the query's trigrams a name must contain to be a fuzzy match (like pg_trgm word_similarity)
+    private static final double FUZZY_THRESHOLD = 0.5;
+
+    // Lower rank sorts first
+    private static final int EXACT = 0;
+    private static final int NAME_PREFIX = 1;
+    private static final int WORD_PREFIX = 2;
+    private static final int SUBSTRING = 3;
+    private static final int FUZZY = 4;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Replaced as a whole by a rebuild, changed in place by writes; guarded by lock
+    private Table table = new Table();
+    // Serializes rebuilds; held while reading the database, unlike lock
+    private final Object loadLock = new Object();
+    // Events seen while a rebuild reads the database, replayed once it is installed; guarded by the write lock
+    private List<StaffChangedEvent> pending;
+    private volatile boolean ready;
+
+    // Slot-sized working arrays kept between searches; at most one per core is kept
+    private final BlockingQueue<Scratch> scratchPool = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${staff.search.index-enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${staff.search.refresh-interval:5m}")
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    // ==================== REBUILD ====================
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            logger.info("Staff name index disabled; name search uses the database");
+            return;
+        }
+        Thread rebuild = new Thread(this::rebuildAndRefresh, "staff-name-index");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    private void rebuildAndRefresh() {
+        rebuild();
+        if (refreshInterval.isZero() || refreshInterval.isNegative()) {
+            return;
+        }
+        while (true) {
+            try {
+                Thread.sleep(refreshInterval.toMillis());
+                rebuild();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                logger.warn("Staff name index rebuild failed, keeping the previous one: {}", ex.getMessage());
+            }
+        }
+    }
+
+    // Reads the whole table into a new Table without holding the lock, so searches and writes carry on meanwhile.
+    // The events that came in during the read are applied again once it is installed: the read may or may not
+    // have seen their writes, and applying a change twice leaves the same state
+    public void rebuild() {
+        synchronized (loadLock) {
+            long start = System.nanoTime();
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                Table fresh = new Table();
+                TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+                readOnly.setReadOnly(true);
+                // On the primary: a lagging replica would bring back names older than the events replayed on top
+                ReadRouting.onPrimary(() -> readOnly.execute(status -> {
+                    try (Stream<Object[]> rows = staffRepository.streamIdsAndNames()) {
+                        rows.forEach(row -> {
+                            String normalized = normalize((String) row[1]);
+                            fresh.index((Long) row[0], normalized, grams(normalized));
+                        });
+                    }
+                    return null;
+                }));
+                lock.writeLock().lock();
+                try {
+                    table = fresh;
+                    pending.forEach(this::apply);
+                    ready = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            logger.info("Staff name index built with {} names in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    // ==================== WRITES ====================
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStaffChanged(StaffChangedEvent event) {
+        // Trigrams outside the lock; apply() recomputes them only on replay
+        String normalized = event.isDeleted() ? null : normalize(event.getStaffName());
+        Set<String> grams = normalized == null ? null : grams(normalized);
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            if (event.isDeleted()) {
+                table.unindex(event.getStaffId());
+            } else if (event.getStaffName() != null) {
+                table.index(event.getStaffId(), normalized, grams);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void apply(StaffChangedEvent event) {
+        if (event.isDeleted()) {
+            table.unindex(event.getStaffId());
+        } else if (event.getStaffName() != null) {
+            String normalized = normalize(event.getStaffName());
+            table.index(event.getStaffId(), normalized, grams(normalized));
+        }
+    }
+
+    // Applies a write immediately; the index only answers queries once it is ready (built, or markReady())
+    void index(Long id, String name) {
+        if (id == null || name == null) {
+            return;
+        }
+        String normalized = normalize(name);
+        Set<String> grams = grams(normalized);
+        lock.writeLock().lock();
+        try {
+            table.index(id, normalized, grams);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void unindex(Long id) {
+        lock.writeLock().lock();
+        try {
+            table.unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return table.slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== SEARCH ====================
+
+    /**
+     * Returns up to limit staff ids whose names match the query, best first: exact name, name prefix,
+     * word prefix, substring, then fuzzy matches by shared trigrams. Ties go to shorter names.
+     */
+    public List<Long> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        PriorityQueue<Match> best = new PriorityQueue<>(Comparator.reverseOrder());
+        List<Long> result = new ArrayList<>();
+        Scratch scratch = scratchPool.poll();
+        if (scratch == null) {
+            scratch = new Scratch();
+        }
+        lock.readLock().lock();
+        try {
+            Table table = this.table;
+            scratch.ensureCapacity(table.slotCount);
+            boolean[] matched = scratch.matched;
+            // Short queries can only be answered as word prefixes; longer ones as substrings
+            int[] candidates = table.intersect(q.length() < 3 ? wordPrefixGrams(q) : substringGrams(q));
+            for (int slot : candidates) {
+                int rank = rank(table.names[slot], q);
+                if (rank < FUZZY) {
+                    matched[slot] = true;
+                    offer(table, best, slot, rank, 0, limit);
+                }
+            }
+            if (q.length() >= 3 && best.size() < limit) {
+                fuzzy(table, q, scratch, best, limit);
+            }
+            for (int slot : candidates) {
+                matched[slot] = false;
+            }
+            List<Match> ordered = new ArrayList<>(best);
+            ordered.sort(Comparator.naturalOrder());
+            for (Match match : ordered) {
+                result.add(table.ids[match.slot]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Only a scratch left all clear goes back; one dropped by an exception is simply not reused
+        scratchPool.offer(scratch);
+        return result;
+    }
+
+    private void fuzzy(Table table, String q, Scratch scratch, PriorityQueue<Match> best, int limit) {
+        Set<String> queryGrams = grams(q);
+        int[] shared = scratch.shared;
+        int touchedCount = 0;
+        for (String gram : queryGrams) {
+            Postings list = table.postings.get(gram);
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size; i++) {
+                int slot = list.slots[i];
+                if (shared[slot]++ == 0) {
+                    if (touchedCount == scratch.touched.length) {
+                        scratch.touched = Arrays.copyOf(scratch.touched, touchedCount * 2);
+                    }
+                    scratch.touched[touchedCount++] = slot;
+                }
+            }
+        }
+        int minimumShared = (int) Math.ceil(FUZZY_THRESHOLD * queryGrams.size());
+        for (int i = 0; i < touchedCount; i++) {
+            int slot = scratch.touched[i];
+            int common = shared[slot];
+            shared[slot] = 0;
+            if (!scratch.matched[slot] && common >= minimumShared) {
+                offer(table, best, slot, FUZZY, 1 - (double) common / queryGrams.size(), limit);
+            }
+        }
+    }
+
+    // Keeps only the best "limit" matches; the queue head is the worst match kept so far
+    private static void offer(Table table, PriorityQueue<Match> best, int slot, int rank, double distance, int limit) {
+        String name = table.names[slot];
+        if (best.size() == limit && isWorse(rank, distance, name.length(), best.peek())) {
+            return;
+        }
+        Match match = new Match(slot, name, rank, distance);
+        if (best.size() < limit) {
+            best.add(match);
+        } else if (match.compareTo(best.peek()) < 0) {
+            best.poll();
+            best.add(match);
+        }
+    }
+
+    // Cheap pre-check so the bulk of low-ranked candidates never allocate a Match
+    private static boolean isWorse(int rank, double distance, int length, Match worst) {
+        if (rank != worst.rank) {
+            return rank > worst.rank;
+        }
+        if (distance != worst.distance) {
+            return distance > worst.distance;
+        }
+        return length > worst.name.length();
+    }
+
+    private static int rank(String name, String q) {
+        if (name.equals(q)) {
+            return EXACT;
+        }
+        if (name.startsWith(q)) {
+            return NAME_PREFIX;
+        }
+        int index = name.indexOf(q);
+        while (index > 0) {
+            if (name.charAt(index - 1) == ' ') {
+                return WORD_PREFIX;
+            }
+            index = name.indexOf(q, index + 1);
+        }
+        return name.contains(q) ? SUBSTRING : FUZZY;
+    }
+
+    // ==================== TRIGRAMS ====================
+    static String normalize(String name) {
+        return name == null ? "" : name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Trigrams of the padded name and of every padded word
+    static Set<String> grams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        addGrams(grams, "  " + normalized + " ");
+        for (String word : normalized.split(" ")) {
+            addGrams(grams, "  " + word + " ");
+        }
+        return grams;
+    }
+
+    private static Set<String> substringGrams(String q) {
+        Set<String> grams = new LinkedHashSet<>();
+        addGrams(grams, q);
+        return grams;
+    }
+
+    private static Set<String> wordPrefixGrams(String q) {
+        Set<String> grams = new LinkedHashSet<>();
+        addGrams(grams, "  " + q);
+        return grams;
+    }
+
+    private static void addGrams(Set<String> grams, String text) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+    }
+
+    // Names, slots and posting lists. Every indexed staff member occupies a dense slot; posting lists and scratch
+    // arrays work on slots, not boxed ids. Confined to the rebuilding thread until installed, then guarded by lock
+    private static final class Table {
+        final Map<String, Postings> postings = new HashMap<>();
+        final Map<Long, Integer> slotsById = new HashMap<>();
+        final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+        long[] ids = new long[1024];
+        String[] names = new String[1024];
+        int slotCount;
+
+        void index(long id, String normalized, Set<String> grams) {
+            Integer slot = slotsById.get(id);
+            if (slot != null) {
+                if (normalized.equals(names[slot])) {
+                    return;
+                }
+                removePostings(slot);
+            } else {
+                slot = allocateSlot(id);
+            }
+            names[slot] = normalized;
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+            }
+        }
+
+        void unindex(long id) {
+            Integer slot = slotsById.remove(id);
+            if (slot != null) {
+                removePostings(slot);
+                names[slot] = null;
+                freeSlots.push(slot);
+            }
+        }
+
+        private int allocateSlot(long id) {
+            int slot;
+            if (!freeSlots.isEmpty()) {
+                slot = freeSlots.pop();
+            } else {
+                if (slotCount == ids.length) {
+                    int capacity = slotCount * 2;
+                    ids = Arrays.copyOf(ids, capacity);
+                    names = Arrays.copyOf(names, capacity);
+                }
+                slot = slotCount++;
+            }
+            ids[slot] = id;
+            slotsById.put(id, slot);
+            return slot;
+        }
+
+        private void removePostings(int slot) {
+            for (String gram : grams(names[slot])) {
+                Postings list = postings.get(gram);
+                if (list != null && list.remove(slot) && list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        int[] intersect(Set<String> grams) {
+            List<Postings> lists = new ArrayList<>(grams.size());
+            for (String gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            if (lists.isEmpty()) {
+                return new int[0];
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            Postings smallest = lists.get(0);
+            int[] result = new int[smallest.size];
+            int count = 0;
+            candidates:
+            for (int i = 0; i < smallest.size; i++) {
+                int slot = smallest.slots[i];
+                for (int j = 1; j < lists.size(); j++) {
+                    if (!lists.get(j).contains(slot)) {
+                        continue candidates;
+                    }
+                }
+                result[count++] = slot;
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+
+    // Per-slot flags and counters for one search; all zero whenever it is in the pool
+    private static final class Scratch {
+        boolean[] matched = new boolean[0];
+        int[] shared = new int[0];
+        int[] touched = new int[64];
+
+        void ensureCapacity(int slots) {
+            if (shared.length < slots) {
+                int capacity = Math.max(slots, shared.length * 2);
+                matched = new boolean[capacity];
+                shared = new int[capacity];
+            }
+        }
+    }
+
+    // Sorted, growable list of slots; slots are mostly handed out in ascending order, so adds are appends
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, index, slots, index + 1, size - index);
+            slots[index] = slot;
+            size++;
+        }
+
+        boolean remove(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int slot) {
+            return Arrays.binarySearch(slots, 0, size, slot) >= 0;
+        }
+    }
+
+    private static final class Match implements Comparable<Match> {
+        final int slot;
+        final String name;
+        final int rank;
+        final double distance;
+
+        Match(int slot, String name, int rank, double distance) {
+            this.slot = slot;
+            this.name = name;
+            this.rank = rank;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Match other) {
+            int result = Integer.compare(rank, other.rank);
+            if (result == 0) {
+                result = Double.compare(distance, other.distance);
+            }
+            if (result == 0) {
+                result = Integer.compare(name.length(), other.name.length());
+            }
+            if (result == 0) {
+                result = name.compareTo(other.name);
+            }
+            return result != 0 ? result : Integer.compare(slot, other.slot);
+        }
+    }
+}
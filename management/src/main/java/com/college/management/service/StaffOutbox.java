@@ -0,0 +1,106 @@
+package com.college.management.service;
+
+import com.college.management.dto.StaffChange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The staff_outbox table: every StaffChangedEvent becomes a row written by the transaction that made the
+ * change, so a change is in the outbox exactly when it is committed. Events are collected per transaction
+ * and inserted as one JDBC batch just before commit; rolled-back transactions never reach the table.
+ * Reads always go to the primary (plain JDBC outside a read-only transaction).
+ */
+@Component
+public class StaffOutbox {
+
+    private static final String INSERT_SQL = "INSERT INTO staff_outbox "
+            + "(event_type, staff_id, department_id, previous_department_id, staff_name, salary, version) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_COLUMNS = "SELECT id, event_type, staff_id, department_id, previous_department_id, "
+            + "staff_name, salary, version, occurred_at FROM staff_outbox ";
+
+    private static final RowMapper<StaffChange> ROW_MAPPER = (rs, rowNum) -> new StaffChange(
+            rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getObject(4, Long.class), rs.getObject(5, Long.class),
+            rs.getString(6), rs.getObject(7, Double.class), rs.getObject(8, Long.class), rs.getTimestamp(9).toInstant());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // ==================== WRITES ====================
+    // Runs synchronously on the publishing thread, inside the writer's transaction
+    @EventListener
+    public void onStaffChanged(StaffChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(List.of(event));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<StaffChangedEvent> pending = (List<StaffChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<StaffChangedEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    append(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StaffOutbox.this);
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    void append(List<StaffChangedEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, 500, (ps, event) -> {
+            ps.setString(1, event.getType().name());
+            ps.setLong(2, event.getStaffId());
+            ps.setObject(3, event.getDepartmentId(), Types.BIGINT);
+            ps.setObject(4, event.getPreviousDepartmentId(), Types.BIGINT);
+            ps.setString(5, event.getStaffName());
+            ps.setObject(6, event.getSalary(), Types.DOUBLE);
+            ps.setObject(7, event.getVersion(), Types.BIGINT);
+        });
+    }
+
+    // ==================== READS ====================
+    // Changes with after < id <= upTo in id order, optionally only those concerning one department
+    public List<StaffChange> read(long after, long upTo, Long departmentId, int limit) {
+        if (departmentId == null) {
+            return jdbcTemplate.query(SELECT_COLUMNS + "WHERE id > ? AND id <= ? ORDER BY id LIMIT ?",
+                    ROW_MAPPER, after, upTo, limit);
+        }
+        return jdbcTemplate.query(SELECT_COLUMNS
+                        + "WHERE id > ? AND id <= ? AND (department_id = ? OR previous_department_id = ?) ORDER BY id LIMIT ?",
+                ROW_MAPPER, after, upTo, departmentId, departmentId, limit);
+    }
+
+    public long latestId() {
+        Long latest = jdbcTemplate.queryForObject("SELECT max(id) FROM staff_outbox", Long.class);
+        return latest == null ? 0 : latest;
+    }
+
+    // Lowest retained id, or null when the outbox is empty
+    public Long oldestId() {
+        return jdbcTemplate.queryForObject("SELECT min(id) FROM staff_outbox", Long.class);
+    }
+
+    public int purgeBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM staff_outbox WHERE occurred_at < ?", Timestamp.from(cutoff));
+    }
+}
@@ -1,24 +1,79 @@
 package com.college.management.service;
 
+import com.college.management.dto.DepartmentPayroll;
+import com.college.management.dto.StaffPage;
+import com.college.management.dto.StaffField;
+import com.college.management.dto.StaffPatch;
+import com.college.management.dto.StaffView;
 import com.college.management.entity.Staff;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface StaffService {
 
+    // The first staff.pagination.max-size staff by id; larger tables are read page by page or streamed
     List<Staff> getAllStaff();
 
     Optional<Staff> getStaffById(Long id);
 
+    // Found staff members in the order of ids (duplicates once); unknown ids are left out
+    List<Staff> getStaffByIds(List<Long> ids);
+
     Staff createStaff(Staff staff);
 
+    // Update, patch and delete are conditional on expectedVersion / the body's version when it is not null
     Staff updateStaff(Long id, Staff staff);
 
-    void deleteStaff(Long id);
+    Staff patchStaff(Long id, StaffPatch patch);
+
+    void deleteStaff(Long id, Long expectedVersion);
 
     List<Staff> getStaffByDepartment(Long departmentId);
 
     List<Staff> getStaffByMinimumSalary(Double minSalary);
 
-    List<Staff> searchStaffByName(String name);
-}
\ No newline at end of file
+    // Ranked typeahead search, best matches first
+    List<Staff> searchStaffByName(String name, int limit);
+
+    // Salary range (inclusive, lowest first) and top earners (highest first), capped at limit rows
+    List<Staff> getStaffBySalaryRange(Double minSalary, Double maxSalary, int limit);
+
+    List<Staff> getTopEarners(int limit);
+
+    List<Staff> getTopEarnersByDepartment(Long departmentId, int limit);
+
+    // The same listings reduced to the given fields; only those columns are read and no entities are loaded.
+    // getAllStaff always includes the id, which the caller needs to continue after the last row
+    List<StaffView> getAllStaff(Set<StaffField> fields);
+
+    List<StaffView> getStaffByMinimumSalary(Double minSalary, Set<StaffField> fields);
+
+    List<StaffView> searchStaffByName(String name, int limit, Set<StaffField> fields);
+
+    List<StaffView> getStaffBySalaryRange(Double minSalary, Double maxSalary, int limit, Set<StaffField> fields);
+
+    List<StaffView> getTopEarners(int limit, Set<StaffField> fields);
+
+    List<StaffView> getTopEarnersByDepartment(Long departmentId, int limit, Set<StaffField> fields);
+
+    // Payroll aggregates from the in-memory snapshot; percentiles are in the range 0-100
+    DepartmentPayroll getDepartmentPayroll(Long departmentId, double[] percentiles);
+
+    List<DepartmentPayroll> getPayrollByDepartment(double[] percentiles);
+
+    // Keyset-paginated listings; cursor is the "next" token of the previous page, or null for the first page
+    StaffPage getStaffPage(String cursor, int size);
+
+    StaffPage getStaffByDepartmentPage(Long departmentId, String cursor, int size);
+
+    StaffPage getStaffByMinimumSalaryPage(Double minSalary, String cursor, int size);
+
+    // Streaming listings; each row is handed to the consumer and then detached
+    void streamAllStaff(Consumer<Staff> consumer);
+
+    void streamStaffByDepartment(Long departmentId, Consumer<Staff> consumer);
+
+    void streamStaffByMinimumSalary(Double minSalary, Consumer<Staff> consumer);
+}
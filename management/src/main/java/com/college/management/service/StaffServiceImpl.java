@@ -1,13 +1,35 @@
 package com.college.management.service;
 
+import com.college.management.dto.DepartmentPayroll;
+import com.college.management.dto.StaffCursor;
+import com.college.management.dto.StaffField;
+import com.college.management.dto.StaffPage;
+import com.college.management.dto.StaffPatch;
+import com.college.management.dto.StaffView;
 import com.college.management.entity.Staff;
+import com.college.management.exception.InvalidInputException;
 import com.college.management.exception.ResourceNotFoundException;
+import com.college.management.exception.VersionConflictException;
 import com.college.management.repository.StaffRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class StaffServiceImpl implements StaffService {
@@ -15,68 +37,365 @@ public class StaffServiceImpl implements StaffService {
     @Autowired
     private StaffRepository staffRepository;
 
+    @Autowired
+    private StaffCache staffCache;
+
+    @Autowired
+    private StaffLoader staffLoader;
+
+    @Autowired
+    private StaffNameIndex staffNameIndex;
+
+    @Autowired
+    private PayrollSnapshot payrollSnapshot;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${staff.pagination.max-size:1000}")
+    private int maxPageSize;
+
+    @Value("${staff.search.max-limit:500}")
+    private int maxSearchLimit;
+
+    // Read-only transactions are served by a read replica when replicas are configured (ReadReplicaConfig);
+    // the cached lookups below load from the primary instead, see StaffCache
     @Override
+    @Transactional(readOnly = true)
     public List<Staff> getAllStaff() {
-        return staffRepository.findAll();
+        return staffRepository.findByStaffIdGreaterThanOrderByStaffIdAsc(0L, Limit.of(maxPageSize));
     }
 
-
+    // Transactional so the change is recorded in the outbox atomically with the insert (StaffOutbox)
     @Override
+    @Transactional
     public Staff createStaff(Staff staff) {
-        return staffRepository.save(staff);
+        // Always an insert: a client-supplied id or version would turn save() into a merge
+        staff.setStaffId(null);
+        staff.setVersion(null);
+        Staff created = staffRepository.save(staff);
+        staffCache.evictDepartment(created.getDepartmentId());
+        eventPublisher.publishEvent(StaffChangedEvent.created(created));
+        return created;
     }
 
+    // ==================== SINGLE-STATEMENT WRITES ====================
+    // Update and delete are one conditional statement each; the affected row tells not-found and
+    // version conflicts apart from success, and only the failure path pays for a second query
     @Override
+    @Transactional
     public Staff updateStaff(Long id, Staff staff) {
-        if (!staffRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Staff not found with id: " + id);
+        return applyUpdate(id, staff.getStaffName(), staff.getDepartmentId(), staff.getSalary(), staff.getVersion());
+    }
+
+    @Override
+    @Transactional
+    public Staff patchStaff(Long id, StaffPatch patch) {
+        return applyUpdate(id, patch.getStaffName(), patch.getDepartmentId(), patch.getSalary(), patch.getVersion());
+    }
+
+    private Staff applyUpdate(Long id, String staffName, Long departmentId, Double salary, Long expectedVersion) {
+        List<Object[]> rows = staffRepository.updateReturning(id, staffName, departmentId, salary, expectedVersion);
+        if (rows.isEmpty()) {
+            throw missingOrConflict(id, expectedVersion);
         }
-        staff.setStaffId(id);
-        return staffRepository.save(staff);
+        Object[] row = rows.get(0);
+        Staff updated = new Staff((String) row[1], ((Number) row[2]).longValue(), ((Number) row[3]).doubleValue());
+        updated.setStaffId(((Number) row[0]).longValue());
+        updated.setVersion(((Number) row[4]).longValue());
+        Long previousDepartmentId = ((Number) row[5]).longValue();
+        staffCache.evictStaff(id);
+        staffCache.evictDepartment(previousDepartmentId);
+        staffCache.evictDepartment(updated.getDepartmentId());
+        eventPublisher.publishEvent(StaffChangedEvent.updated(updated, previousDepartmentId));
+        return updated;
     }
 
     @Override
-    public List<Staff> getStaffByDepartment(Long departmentId) {
-        List<Staff> staffList = staffRepository.findByDepartmentId(departmentId);
-        if (staffList.isEmpty()) {
-            throw new ResourceNotFoundException("No staff found in department with id: " + departmentId);
+    @Transactional
+    public void deleteStaff(Long id, Long expectedVersion) {
+        List<Long> departments = staffRepository.deleteReturningDepartment(id, expectedVersion);
+        if (departments.isEmpty()) {
+            throw missingOrConflict(id, expectedVersion);
         }
-        return staffList;
+        staffCache.evictStaff(id);
+        staffCache.evictDepartment(departments.get(0));
+        eventPublisher.publishEvent(StaffChangedEvent.deleted(id, departments.get(0)));
+    }
+
+    private RuntimeException missingOrConflict(Long id, Long expectedVersion) {
+        if (expectedVersion != null && staffRepository.existsById(id)) {
+            return new VersionConflictException("Staff with id " + id + " is no longer at version " + expectedVersion);
+        }
+        return new ResourceNotFoundException("Staff not found with id: " + id);
     }
 
     @Override
+    public List<Staff> getStaffByDepartment(Long departmentId) {
+        return staffCache.getDepartment(departmentId, () -> staffRepository.findByDepartmentId(departmentId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Staff> getStaffByMinimumSalary(Double minSalary) {
-        List<Staff> staffList = staffRepository.findByMinimumSalary(minSalary);
-        if (staffList.isEmpty()) {
-            throw new ResourceNotFoundException("No staff found with salary greater than or equal to: " + minSalary);
+        return staffRepository.findByMinimumSalary(minSalary);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Staff> getStaffBySalaryRange(Double minSalary, Double maxSalary, int limit) {
+        validateRange(minSalary, maxSalary);
+        return staffRepository.findBySalaryRange(minSalary, maxSalary, Limit.of(validateLimit(limit)));
+    }
+
+    private static void validateRange(Double minSalary, Double maxSalary) {
+        if (minSalary > maxSalary) {
+            throw new InvalidInputException("Minimum salary must not be greater than maximum salary");
         }
-        return staffList;
     }
 
     @Override
-    public List<Staff> searchStaffByName(String name) {
-        List<Staff> staffList = staffRepository.findByStaffNameContainingIgnoreCase(name);
-        if (staffList.isEmpty()) {
-            throw new ResourceNotFoundException("No staff found with name containing: " + name);
+    @Transactional(readOnly = true)
+    public List<Staff> getTopEarners(int limit) {
+        return staffRepository.findByOrderBySalaryDescStaffIdAsc(Limit.of(validateLimit(limit)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Staff> getTopEarnersByDepartment(Long departmentId, int limit) {
+        return staffRepository.findByDepartmentIdOrderBySalaryDescStaffIdAsc(departmentId, Limit.of(validateLimit(limit)));
+    }
+
+    private int validateLimit(int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new InvalidInputException("Limit must be between 1 and " + maxPageSize);
         }
-        return staffList;
+        return limit;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Staff> searchStaffByName(String name, int limit) {
+        validateSearchLimit(limit);
+        return staffNameIndex.isReady()
+                ? loadInOrder(staffNameIndex.search(name, limit))
+                : staffRepository.searchByNameContaining(escapeLike(name.trim()), Limit.of(limit));
+    }
+
+    // One primary-key lookup for the ranked ids, returned in rank order
+    private List<Staff> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Staff> byId = staffRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Staff::getStaffId, Function.identity()));
+        List<Staff> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Staff staff = byId.get(id);
+            if (staff != null) {
+                ordered.add(staff);
+            }
+        }
+        return ordered;
+    }
+
+    private void validateSearchLimit(int limit) {
+        if (limit < 1 || limit > maxSearchLimit) {
+            throw new InvalidInputException("Search limit must be between 1 and " + maxSearchLimit);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     @Override
 public Optional<Staff> getStaffById(Long id) {
-    Optional<Staff> staff = staffRepository.findById(id);
+    Optional<Staff> staff = Optional.ofNullable(staffCache.getStaff(id, () -> staffLoader.load(id)));
     if (staff.isEmpty()) {
         throw new ResourceNotFoundException("Staff not found with id: " + id);
     }
     return staff;
    }
 
-   @Override
-public void deleteStaff(Long id) {
-    if (!staffRepository.existsById(id)) {
-        throw new ResourceNotFoundException("Staff not found with id: " + id);
+    // Cache misses go through StaffLoader, which merges them with concurrent single-id lookups
+    @Override
+    public List<Staff> getStaffByIds(List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > maxPageSize) {
+            throw new InvalidInputException("Between 1 and " + maxPageSize + " ids must be given");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        Map<Long, Staff> byId = staffCache.getStaff(distinct, staffLoader::loadAll);
+        List<Staff> ordered = new ArrayList<>(distinct.size());
+        for (Long id : distinct) {
+            Staff staff = byId.get(id);
+            if (staff != null) {
+                ordered.add(staff);
+            }
+        }
+        return ordered;
+    }
+
+    // ==================== FIELD PROJECTIONS ====================
+    @Override
+    @Transactional(readOnly = true)
+    public List<StaffView> getAllStaff(Set<StaffField> fields) {
+        return staffRepository.findAllViews(fields, Limit.of(maxPageSize));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StaffView> getStaffByMinimumSalary(Double minSalary, Set<StaffField> fields) {
+        return staffRepository.findViewsByMinimumSalary(fields, minSalary);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StaffView> searchStaffByName(String name, int limit, Set<StaffField> fields) {
+        validateSearchLimit(limit);
+        return staffNameIndex.isReady()
+                ? viewsInOrder(staffNameIndex.search(name, limit), fields)
+                : staffRepository.searchViewsByNameContaining(fields, escapeLike(name.trim()), Limit.of(limit));
+    }
+
+    // As loadInOrder; the id is read to restore the rank order and dropped again when not requested
+    private List<StaffView> viewsInOrder(List<Long> ids, Set<StaffField> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, StaffView> byId = staffRepository.findViewsByIdIn(fields, ids).stream()
+                .collect(Collectors.toMap(StaffView::getStaffId, Function.identity()));
+        boolean keepId = fields.contains(StaffField.STAFF_ID);
+        List<StaffView> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            StaffView view = byId.get(id);
+            if (view != null) {
+                ordered.add(keepId ? view : view.withoutStaffId());
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StaffView> getStaffBySalaryRange(Double minSalary, Double maxSalary, int limit, Set<StaffField> fields) {
+        validateRange(minSalary, maxSalary);
+        return staffRepository.findViewsBySalaryRange(fields, minSalary, maxSalary, Limit.of(validateLimit(limit)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StaffView> getTopEarners(int limit, Set<StaffField> fields) {
+        return staffRepository.findTopEarnerViews(fields, Limit.of(validateLimit(limit)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StaffView> getTopEarnersByDepartment(Long departmentId, int limit, Set<StaffField> fields) {
+        return staffRepository.findTopEarnerViewsByDepartmentId(fields, departmentId, Limit.of(validateLimit(limit)));
+    }
+
+    // ==================== PAYROLL ANALYTICS ====================
+    @Override
+    public DepartmentPayroll getDepartmentPayroll(Long departmentId, double[] percentiles) {
+        DepartmentPayroll payroll = payrollSnapshot.aggregate(departmentId, validatePercentiles(percentiles));
+        if (payroll == null) {
+            throw new ResourceNotFoundException("No staff found in department with id: " + departmentId);
+        }
+        return payroll;
+    }
+
+    @Override
+    public List<DepartmentPayroll> getPayrollByDepartment(double[] percentiles) {
+        return payrollSnapshot.aggregateAll(validatePercentiles(percentiles));
+    }
+
+    private static double[] validatePercentiles(double[] percentiles) {
+        for (double percentile : percentiles) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new InvalidInputException("Percentiles must be between 0 and 100");
+            }
+        }
+        return percentiles;
+    }
+
+    // ==================== KEYSET PAGINATION ====================
+    @Override
+    @Transactional(readOnly = true)
+    public StaffPage getStaffPage(String cursor, int size) {
+        int pageSize = validatePageSize(size);
+        long afterId = StaffCursor.decode(cursor);
+        return toPage(staffRepository.findByStaffIdGreaterThanOrderByStaffIdAsc(afterId, Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StaffPage getStaffByDepartmentPage(Long departmentId, String cursor, int size) {
+        int pageSize = validatePageSize(size);
+        long afterId = StaffCursor.decode(cursor);
+        return toPage(staffRepository.findByDepartmentIdAndStaffIdGreaterThanOrderByStaffIdAsc(
+                departmentId, afterId, Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StaffPage getStaffByMinimumSalaryPage(Double minSalary, String cursor, int size) {
+        int pageSize = validatePageSize(size);
+        long afterId = StaffCursor.decode(cursor);
+        return toPage(staffRepository.findByMinimumSalaryAfter(minSalary, afterId, Limit.of(pageSize + 1)), pageSize);
+    }
+
+    private int validatePageSize(int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidInputException("Page size must be between 1 and " + maxPageSize);
+        }
+        return size;
+    }
+
+    // One extra row is fetched so the last page can be detected without a second query
+    private StaffPage toPage(List<Staff> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new StaffPage(rows, null);
+        }
+        List<Staff> content = rows.subList(0, pageSize);
+        return new StaffPage(content, StaffCursor.encode(content.get(pageSize - 1).getStaffId()));
+    }
+
+    // ==================== STREAMING ====================
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllStaff(Consumer<Staff> consumer) {
+        try (Stream<Staff> rows = staffRepository.streamAll()) {
+            drain(rows, consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamStaffByDepartment(Long departmentId, Consumer<Staff> consumer) {
+        try (Stream<Staff> rows = staffRepository.streamByDepartmentId(departmentId)) {
+            drain(rows, consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamStaffByMinimumSalary(Double minSalary, Consumer<Staff> consumer) {
+        try (Stream<Staff> rows = staffRepository.streamByMinimumSalary(minSalary)) {
+            drain(rows, consumer);
+        }
+    }
+
+    // Detach every row once written so the persistence context does not grow with the table
+    private void drain(Stream<Staff> rows, Consumer<Staff> consumer) {
+        rows.forEach(staff -> {
+            consumer.accept(staff);
+            entityManager.detach(staff);
+        });
     }
-    staffRepository.deleteById(id);
-}
 
 }
@@ -0,0 +1,27 @@
+-- Staff table as mapped by com.college.management.entity.Staff. Written with IF NOT EXISTS so that it also adopts
+-- databases created by the former ddl-auto=update setup (Flyway baselines them at version 0, then runs this)
+CREATE SEQUENCE IF NOT EXISTS staff_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS staff (
+    staff_id bigint PRIMARY KEY,
+    staff_name varchar(255) NOT NULL,
+    department_id bigint NOT NULL,
+    salary double precision NOT NULL
+);
+
+-- Keyset pagination within a department: WHERE department_id = ? AND staff_id > ? ORDER BY staff_id
+CREATE INDEX IF NOT EXISTS idx_staff_department_staff_id ON staff (department_id, staff_id);
+-- Salary range scans and "top N earners" (backward scan) across all staff
+CREATE INDEX IF NOT EXISTS idx_staff_salary ON staff (salary);
+-- "Top N earners per department": WHERE department_id = ? ORDER BY salary DESC LIMIT n
+CREATE INDEX IF NOT EXISTS idx_staff_department_salary ON staff (department_id, salary);
+
+-- Optimistic-lock column. Rows created before it existed (and COPY imports, which do not list it) start at version 0
+ALTER TABLE staff ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0;
+ALTER TABLE staff ALTER COLUMN version SET DEFAULT 0;
+UPDATE staff SET version = 0 WHERE version IS NULL;
+
+-- Staff ids used to come from an identity column; move the pooled sequence past any existing ids
+SELECT setval('staff_id_seq', m.max_id)
+FROM staff_id_seq s, (SELECT COALESCE(MAX(staff_id), 0) AS max_id FROM staff) m
+WHERE s.last_value < m.max_id;
@@ -0,0 +1,11 @@
+-- Trigram index behind the database-side name search fallback: lower(staff_name) LIKE '%x%'.
+-- pg_trgm is optional: without it (or the rights to create it) the search falls back to a sequential scan
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    CREATE INDEX IF NOT EXISTS idx_staff_name_trgm ON staff USING gin (lower(staff_name) gin_trgm_ops);
+EXCEPTION
+    WHEN insufficient_privilege OR undefined_file THEN
+        RAISE WARNING 'pg_trgm unavailable, idx_staff_name_trgm not created: %', SQLERRM;
+END
+$$;
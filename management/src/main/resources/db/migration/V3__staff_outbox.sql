@@ -0,0 +1,14 @@
+-- Transactional outbox behind GET /api/staff/changes: one row per staff change, inserted by StaffOutbox in the
+-- writing transaction and relayed in id order by StaffChangeFeed. Rows older than staff.events.retention are purged
+CREATE TABLE IF NOT EXISTS staff_outbox (
+    id bigserial PRIMARY KEY,
+    event_type varchar(16) NOT NULL,
+    staff_id bigint NOT NULL,
+    department_id bigint,
+    previous_department_id bigint,
+    staff_name varchar(255),
+    salary double precision,
+    version bigint,
+    occurred_at timestamptz NOT NULL DEFAULT now()
+);
+CREATE INDEX IF NOT EXISTS idx_staff_outbox_occurred_at ON staff_outbox (occurred_at);
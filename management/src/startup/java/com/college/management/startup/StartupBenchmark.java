@@ -0,0 +1,208 @@
+package com.college.management.startup;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-first-response of the fast-startup build against the plain jar run the way the application used
+ * to start (ddl-auto=update schema introspection, springdoc, no AOT, CDS or warmup). Every run is a fresh
+ * JVM against one embedded PostgreSQL: the benchmark polls /actuator/health/readiness until the instance is
+ * ready, then times one GET /api/staff/page. Time to first response runs from process start to the end of
+ * that request. Each mode gets one unrecorded start first (schema migration, OS file cache); measured runs
+ * alternate between the modes. Run through the startup Maven profile; see benchmarks/README.md.
+ */
+public final class StartupBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupBenchmark.class);
+
+    private static final int STAFF_ROWS = 10_000;
+    private static final String FIRST_REQUEST = "/api/staff/page?size=50";
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+    private static final String ROW = "%-10s %5s %12s %12s %12s %12s %12s%n";
+
+    enum Mode {
+        BASELINE, STARTUP
+    }
+
+    private record Run(Mode mode, int number, long readyMillis, long firstRequestMillis) {
+
+        long timeToFirstResponse() {
+            return readyMillis + firstRequestMillis;
+        }
+    }
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(property("jar", "target/management-0.0.1-SNAPSHOT.jar"));
+        Path directory = Path.of(property("directory", "target/startup"));
+        String profiles = property("profiles", "startup");
+        int runs = Integer.parseInt(property("runs", "5"));
+        Path output = Path.of(property("output", "target/startup-benchmark"));
+        Path archive = directory.resolve("application.jsa");
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("No CDS archive at " + archive + "; build with mvn -Pstartup package first");
+        }
+        Files.createDirectories(output);
+
+        Map<Mode, List<String>> commands = new EnumMap<>(Mode.class);
+        commands.put(Mode.BASELINE, List.of(java(), "-jar", jar.toString(),
+                "--spring.jpa.hibernate.ddl-auto=update", "--management.endpoint.health.probes.enabled=true"));
+        commands.put(Mode.STARTUP, List.of(java(), "-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                "-jar", directory.resolve(jar.getFileName()).toString(), "--spring.profiles.active=" + profiles));
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1)).build();
+        List<Run> results = new ArrayList<>();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            for (Mode mode : Mode.values()) {
+                logger.info("Unrecorded {} start", mode);
+                start(client, postgres, commands.get(mode), mode, 0, output);
+            }
+            seed(postgres);
+            for (int run = 1; run <= runs; run++) {
+                for (Mode mode : Mode.values()) {
+                    Run result = start(client, postgres, commands.get(mode), mode, run, output);
+                    logger.info("{} run {}: ready after {} ms, first response after {} ms", mode, run,
+                            result.readyMillis(), result.timeToFirstResponse());
+                    results.add(result);
+                }
+            }
+        }
+        report(results, output);
+    }
+
+    private static Run start(HttpClient client, EmbeddedPostgres postgres, List<String> command, Mode mode, int number,
+                             Path output) throws Exception {
+        int port = freePort();
+        String name = mode.name().toLowerCase(Locale.ROOT) + "-" + number;
+        List<String> arguments = new ArrayList<>(command);
+        // Command-line arguments win over the profile files
+        arguments.addAll(List.of(
+                "--spring.datasource.url=jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres?reWriteBatchedInserts=true",
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--server.port=" + port,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.college.management=INFO",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--logging.file.name=" + output.resolve(name + ".log")));
+        URI base = URI.create("http://localhost:" + port);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(arguments)
+                .redirectErrorStream(true)
+                .redirectOutput(output.resolve(name + ".out").toFile())
+                .start();
+        try {
+            awaitReady(client, base, process);
+            long ready = System.nanoTime();
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(base.resolve(FIRST_REQUEST)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            long answered = System.nanoTime();
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(name + ": " + FIRST_REQUEST + " answered " + response.statusCode());
+            }
+            return new Run(mode, number, (ready - start) / 1_000_000, (answered - ready) / 1_000_000);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void awaitReady(HttpClient client, URI base, Process process) throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(base.resolve("/actuator/health/readiness")).build();
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + " before it was ready");
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application not ready within " + START_TIMEOUT);
+    }
+
+    // After the unrecorded starts have migrated the schema, so the first request reads a realistic page
+    private static void seed(EmbeddedPostgres postgres) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO staff (staff_id, staff_name, department_id, salary, version) "
+                    + "SELECT g, 'Staff ' || g, 100 + g % 50, 30000 + g % 70000, 0 FROM generate_series(1, " + STAFF_ROWS + ") g");
+            statement.execute("SELECT setval('staff_id_seq', " + STAFF_ROWS + ")");
+        }
+    }
+
+    private static void report(List<Run> results, Path output) throws IOException {
+        PrintStream out = System.out;
+        out.printf("%n=== Time to first response (ms, median of runs; min-max in the last column) ===%n");
+        out.printf(ROW, "mode", "runs", "ready", "1st request", "total", "total min", "total max");
+        for (Mode mode : Mode.values()) {
+            long[] ready = results.stream().filter(run -> run.mode() == mode).mapToLong(Run::readyMillis).sorted().toArray();
+            long[] first = results.stream().filter(run -> run.mode() == mode).mapToLong(Run::firstRequestMillis).sorted().toArray();
+            long[] total = results.stream().filter(run -> run.mode() == mode).mapToLong(Run::timeToFirstResponse).sorted().toArray();
+            out.printf(ROW, mode.name().toLowerCase(Locale.ROOT), total.length, median(ready), median(first), median(total),
+                    total[0], total[total.length - 1]);
+        }
+        try (PrintWriter summary = new PrintWriter(Files.newBufferedWriter(output.resolve("summary.csv")))) {
+            summary.println("mode,run,ready_ms,first_request_ms,time_to_first_response_ms");
+            for (Run run : results) {
+                summary.printf("%s,%d,%d,%d,%d%n", run.mode().name().toLowerCase(Locale.ROOT), run.number(),
+                        run.readyMillis(), run.firstRequestMillis(), run.timeToFirstResponse());
+            }
+        }
+        out.println("\nReports written to " + output.toAbsolutePath());
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("startup." + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
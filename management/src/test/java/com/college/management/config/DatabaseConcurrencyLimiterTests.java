@@ -0,0 +1,78 @@
+package com.college.management.config;
+
+import com.college.management.exception.DatabaseBusyException;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DatabaseConcurrencyLimiterTests {
+
+	private static DataSource pool() throws SQLException {
+		DataSource pool = mock(DataSource.class);
+		when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+		return pool;
+	}
+
+	@Test
+	void holdsThePermitUntilTheConnectionIsClosed() throws Exception {
+		DatabaseConcurrencyLimiter limiter = new DatabaseConcurrencyLimiter(2, Duration.ofMillis(50));
+		DataSource dataSource = limiter.limit(pool());
+
+		Connection connection = dataSource.getConnection();
+		assertEquals(1, limiter.availablePermits());
+		connection.close();
+		connection.close();
+		assertEquals(2, limiter.availablePermits());
+	}
+
+	@Test
+	void furtherConnectionsOfTheSameThreadShareThePermit() throws Exception {
+		DatabaseConcurrencyLimiter limiter = new DatabaseConcurrencyLimiter(1, Duration.ofMillis(50));
+		DataSource dataSource = limiter.limit(pool());
+
+		try (Connection outer = dataSource.getConnection(); Connection inner = dataSource.getConnection()) {
+			assertEquals(0, limiter.availablePermits());
+		}
+		assertEquals(1, limiter.availablePermits());
+	}
+
+	@Test
+	void failsFastWhileOtherThreadsHoldEveryConnection() throws Exception {
+		DatabaseConcurrencyLimiter limiter = new DatabaseConcurrencyLimiter(1, Duration.ofMillis(50));
+		DataSource dataSource = limiter.limit(pool());
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Connection held = executor.submit(() -> dataSource.getConnection()).get();
+
+			assertThrows(DatabaseBusyException.class, dataSource::getConnection);
+
+			held.close();
+			dataSource.getConnection().close();
+			assertEquals(1, limiter.availablePermits());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void givesThePermitBackWhenThePoolFails() throws Exception {
+		DatabaseConcurrencyLimiter limiter = new DatabaseConcurrencyLimiter(1, Duration.ofMillis(50));
+		DataSource pool = mock(DataSource.class);
+		when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+		assertThrows(SQLException.class, limiter.limit(pool)::getConnection);
+		assertEquals(1, limiter.availablePermits());
+		verify(pool).getConnection();
+	}
+}
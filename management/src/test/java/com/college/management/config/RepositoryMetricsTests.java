@@ -0,0 +1,42 @@
+package com.college.management.config;
+
+import com.college.management.repository.StaffRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RepositoryMetricsTests {
+
+	@Test
+	void timesSuccessAndErrorSeparately() throws Throwable {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		RepositoryMetrics metrics = new RepositoryMetrics(registry);
+		ProceedingJoinPoint call = call("findByDepartmentId");
+		when(call.proceed()).thenReturn("ok").thenThrow(new IllegalStateException("boom"));
+
+		assertEquals("ok", metrics.time(call));
+		assertThrows(IllegalStateException.class, () -> metrics.time(call));
+
+		assertEquals(1, timer(registry, "findByDepartmentId", "SUCCESS").count());
+		assertEquals(1, timer(registry, "findByDepartmentId", "ERROR").count());
+	}
+
+	private static ProceedingJoinPoint call(String methodName) throws NoSuchMethodException {
+		MethodSignature signature = mock(MethodSignature.class);
+		when(signature.getMethod()).thenReturn(StaffRepository.class.getMethod(methodName, Long.class));
+		ProceedingJoinPoint call = mock(ProceedingJoinPoint.class);
+		when(call.getSignature()).thenReturn(signature);
+		return call;
+	}
+
+	private static Timer timer(SimpleMeterRegistry registry, String method, String outcome) {
+		return registry.get("staff.repository.invocations").tag("method", method).tag("outcome", outcome).timer();
+	}
+}
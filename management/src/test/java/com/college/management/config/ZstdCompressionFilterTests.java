@@ -0,0 +1,70 @@
+package com.college.management.config;
+
+import com.github.luben.zstd.Zstd;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZstdCompressionFilterTests {
+
+	private static final byte[] LARGE = "{\"staffName\":\"Poll Person\"},".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	void compressesLargeBodiesForZstdClients() throws Exception {
+		MockHttpServletResponse response = filter("gzip, zstd", "application/json", LARGE);
+
+		assertEquals("zstd", response.getHeader("Content-Encoding"));
+		assertTrue(response.getHeaders("Vary").contains("Accept-Encoding"));
+		byte[] compressed = response.getContentAsByteArray();
+		assertTrue(compressed.length < LARGE.length / 4);
+		assertArrayEquals(LARGE, Zstd.decompress(compressed, LARGE.length));
+	}
+
+	@Test
+	void sendsSmallBodiesAsWritten() throws Exception {
+		byte[] body = "{\"staffId\":5}".getBytes(StandardCharsets.UTF_8);
+		MockHttpServletResponse response = filter("zstd", "application/json", body);
+
+		assertNull(response.getHeader("Content-Encoding"));
+		assertEquals(body.length, response.getContentLength());
+		assertArrayEquals(body, response.getContentAsByteArray());
+	}
+
+	@Test
+	void leavesOtherClientsAndTypesAlone() throws Exception {
+		assertNull(filter("gzip", "application/json", LARGE).getHeader("Content-Encoding"));
+		assertNull(filter("zstd;q=0", "application/json", LARGE).getHeader("Content-Encoding"));
+		assertNull(filter("zstd", "image/png", LARGE).getHeader("Content-Encoding"));
+	}
+
+	@Test
+	void parsesAcceptEncoding() {
+		assertTrue(ZstdCompressionFilter.acceptsZstd("br, ZSTD;q=0.5"));
+		assertFalse(ZstdCompressionFilter.acceptsZstd("zstd;q=0.0"));
+		assertFalse(ZstdCompressionFilter.acceptsZstd(null));
+	}
+
+	// Writes the body the way the message converters do: headers, then bytes, then a flush
+	private static MockHttpServletResponse filter(String acceptEncoding, String contentType, byte[] body) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/staff/department/1001");
+		request.addHeader("Accept-Encoding", acceptEncoding);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = (req, res) -> {
+			res.setContentType(contentType);
+			res.setContentLength(body.length);
+			res.getOutputStream().write(body);
+			res.getOutputStream().flush();
+		};
+		new ZstdCompressionFilter().doFilter(request, response, chain);
+		return response;
+	}
+}
@@ -0,0 +1,106 @@
+package com.college.management.controller;
+
+import com.college.management.config.StaffProtobufHttpMessageConverter;
+import com.college.management.dto.StaffField;
+import com.college.management.dto.StaffView;
+import com.college.management.entity.Staff;
+import com.college.management.service.StaffService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class StaffControllerTests {
+
+	private final StaffService staffService = mock(StaffService.class);
+	private final MockMvc mockMvc;
+
+	StaffControllerTests() {
+		StaffController controller = new StaffController();
+		ReflectionTestUtils.setField(controller, "staffService", staffService);
+		// Protobuf last, as in WebFormatsConfig
+		mockMvc = MockMvcBuilders.standaloneSetup(controller)
+				.setMessageConverters(new MappingJackson2HttpMessageConverter(), new StaffProtobufHttpMessageConverter())
+				.build();
+	}
+
+	private static Staff staff(long id, String name, double salary, long version) {
+		Staff staff = new Staff(name, 10L, salary);
+		staff.setStaffId(id);
+		staff.setVersion(version);
+		return staff;
+	}
+
+	@Test
+	void contentTagFollowsTheRowsNotTheirOrder() {
+		List<Staff> rows = List.of(staff(1L, "Jane", 1000.0, 0L), staff(2L, "John", 2000.0, 3L));
+		String tag = StaffController.contentTag(rows);
+
+		assertEquals(tag, StaffController.contentTag(List.of(rows.get(1), rows.get(0))));
+		assertNotEquals(tag, StaffController.contentTag(List.of(rows.get(0), staff(2L, "John", 2000.0, 4L))));
+		assertNotEquals(tag, StaffController.contentTag(List.of(rows.get(0), staff(3L, "John", 2000.0, 3L))));
+		assertNotEquals(tag, StaffController.contentTag(List.of(rows.get(0))));
+		// A direct SQL update that leaves the version alone still changes the tag
+		assertNotEquals(tag, StaffController.contentTag(List.of(rows.get(0), staff(2L, "John", 2500.0, 3L))));
+	}
+
+	@Test
+	void singleStaffTagFollowsTheRowContents() throws Exception {
+		when(staffService.getStaffById(1L)).thenReturn(Optional.of(staff(1L, "Jane", 1000.0, 0L)));
+		String tag = mockMvc.perform(get("/api/staff/1"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertEquals(StaffController.contentTag(List.of(staff(1L, "Jane", 1000.0, 0L))), tag);
+		mockMvc.perform(get("/api/staff/1").header(HttpHeaders.IF_NONE_MATCH, tag))
+				.andExpect(status().isNotModified());
+
+		// Same version, different salary (a direct SQL update): no longer a match
+		when(staffService.getStaffById(1L)).thenReturn(Optional.of(staff(1L, "Jane", 1500.0, 0L)));
+		mockMvc.perform(get("/api/staff/1").header(HttpHeaders.IF_NONE_MATCH, tag))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void listEndpointsServeProtobuf() throws Exception {
+		List<Staff> rows = List.of(staff(1L, "Jane", 1000.0, 0L), staff(2L, "John", 2000.0, 3L));
+		when(staffService.getTopEarners(10)).thenReturn(rows);
+		when(staffService.getStaffByDepartment(10L)).thenReturn(rows);
+
+		byte[] top = mockMvc.perform(get("/api/staff/salary/top").accept(StaffProtobufHttpMessageConverter.PROTOBUF))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(StaffProtobufHttpMessageConverter.PROTOBUF))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertTrue(new String(top).contains("Jane"));
+		mockMvc.perform(get("/api/staff/department/10").accept(StaffProtobufHttpMessageConverter.PROTOBUF))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(StaffProtobufHttpMessageConverter.PROTOBUF));
+	}
+
+	@Test
+	void fieldsAreServedByTheirOwnHandler() throws Exception {
+		when(staffService.getTopEarners(10, EnumSet.of(StaffField.STAFF_NAME)))
+				.thenReturn(List.of(new StaffView(null, "Jane", null, null, null)));
+
+		mockMvc.perform(get("/api/staff/salary/top").param("fields", "staffName").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].staffName").value("Jane"))
+				.andExpect(jsonPath("$[0].salary").doesNotExist());
+	}
+}
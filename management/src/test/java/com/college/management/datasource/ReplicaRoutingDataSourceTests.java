@@ -0,0 +1,107 @@
+package com.college.management.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTests {
+
+	@Test
+	void alternatesBetweenReplicas() throws SQLException {
+		Connection first = mock(Connection.class);
+		Connection second = mock(Connection.class);
+		ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN,
+				replica("replica-1", dataSource(first), 0), replica("replica-2", dataSource(second), 0));
+
+		Connection a = routing.getConnection();
+		Connection b = routing.getConnection();
+
+		assertTrue(a != b);
+		assertSame(a, routing.getConnection());
+	}
+
+	@Test
+	void prefersTheLeastBusyReplica() throws SQLException {
+		Connection idle = mock(Connection.class);
+		ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Selection.LEAST_BUSY,
+				replica("replica-1", dataSource(mock(Connection.class)), 7), replica("replica-2", dataSource(idle), 1));
+
+		assertSame(idle, routing.getConnection());
+		assertSame(idle, routing.getConnection());
+	}
+
+	@Test
+	void failsOverToThePrimary() throws SQLException {
+		DataSource broken = mock(DataSource.class);
+		when(broken.getConnection()).thenThrow(new SQLException("connection refused"));
+		Connection primary = mock(Connection.class);
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(dataSource(primary),
+				List.of(replica("replica-1", broken, 0)), ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Duration.ofSeconds(10));
+
+		assertSame(primary, routing.getConnection());
+		assertFalse(routing.replicas().get(0).isUp());
+	}
+
+	@Test
+	void pinnedReadsUseThePrimary() throws SQLException {
+		Connection primary = mock(Connection.class);
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(dataSource(primary),
+				List.of(replica("replica-1", dataSource(mock(Connection.class)), 0)),
+				ReplicaRoutingDataSource.Selection.ROUND_ROBIN, Duration.ofSeconds(10));
+
+		assertSame(primary, ReadRouting.onPrimary(() -> {
+			try {
+				return routing.getConnection();
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		}));
+		assertFalse(ReadRouting.isPinnedToPrimary());
+	}
+
+	@Test
+	void healthCheckTracksReplicationLag() throws SQLException {
+		ResultSet lag = mock(ResultSet.class);
+		when(lag.next()).thenReturn(true);
+		when(lag.getDouble(1)).thenReturn(30.0, 0.5);
+		Statement statement = mock(Statement.class);
+		when(statement.executeQuery(ReplicaRoutingDataSource.LAG_SQL)).thenReturn(lag);
+		Connection connection = mock(Connection.class);
+		when(connection.createStatement()).thenReturn(statement);
+		ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Selection.ROUND_ROBIN,
+				replica("replica-1", dataSource(connection), 0));
+		ReplicaRoutingDataSource.Replica replica = routing.replicas().get(0);
+
+		routing.checkHealth();
+		assertFalse(replica.isUp());
+		routing.checkHealth();
+		assertTrue(replica.isUp());
+	}
+
+	private static ReplicaRoutingDataSource routing(ReplicaRoutingDataSource.Selection selection,
+			ReplicaRoutingDataSource.Replica... replicas) throws SQLException {
+		return new ReplicaRoutingDataSource(dataSource(mock(Connection.class)), List.of(replicas), selection, Duration.ofSeconds(10));
+	}
+
+	private static ReplicaRoutingDataSource.Replica replica(String name, DataSource dataSource, int active) {
+		return new ReplicaRoutingDataSource.Replica(name, dataSource, () -> active);
+	}
+
+	private static DataSource dataSource(Connection connection) throws SQLException {
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		return dataSource;
+	}
+}
@@ -0,0 +1,29 @@
+package com.college.management.dto;
+
+import com.college.management.exception.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StaffCursorTests {
+
+	@Test
+	void roundTripsLastStaffId() {
+		assertEquals(105L, StaffCursor.decode(StaffCursor.encode(105L)));
+	}
+
+	@Test
+	void missingCursorStartsFromBeginning() {
+		assertEquals(0L, StaffCursor.decode(null));
+		assertEquals(0L, StaffCursor.decode(" "));
+		assertNull(StaffCursor.encode(null));
+	}
+
+	@Test
+	void rejectsMalformedCursor() {
+		assertThrows(InvalidInputException.class, () -> StaffCursor.decode("not-a-cursor!"));
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.college.management.dto;
+
+import com.college.management.entity.Staff;
+import com.college.management.exception.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StaffFieldTests {
+
+	@Test
+	void parsesPropertyNames() {
+		assertEquals(EnumSet.of(StaffField.STAFF_ID, StaffField.STAFF_NAME), StaffField.parse("staffName, staffId,staffName,"));
+	}
+
+	@Test
+	void missingFieldsMeanTheFullEntity() {
+		assertNull(StaffField.parse(null));
+		assertNull(StaffField.parse(" "));
+		assertNull(StaffField.parse(","));
+	}
+
+	@Test
+	void rejectsUnknownFields() {
+		assertThrows(InvalidInputException.class, () -> StaffField.parse("staffId,password"));
+		assertThrows(InvalidInputException.class, () -> StaffField.parse("staff_name"));
+	}
+
+	@Test
+	void viewKeepsOnlyRequestedFields() {
+		Staff staff = new Staff("Jane Doe", 101L, 60000.0);
+		staff.setStaffId(7L);
+
+		StaffView view = StaffView.of(staff, EnumSet.of(StaffField.STAFF_NAME, StaffField.SALARY));
+
+		assertNull(view.getStaffId());
+		assertEquals("Jane Doe", view.getStaffName());
+		assertNull(view.getDepartmentId());
+		assertEquals(60000.0, view.getSalary());
+	}
+
+}
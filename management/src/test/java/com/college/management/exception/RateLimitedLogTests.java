@@ -0,0 +1,39 @@
+package com.college.management.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitedLogTests {
+
+	@Test
+	void letsFirstLineThroughAndSuppressesTheRest() {
+		RateLimitedLog log = new RateLimitedLog(Duration.ofHours(1));
+
+		assertEquals(0, log.tryAcquire("not_found"));
+		assertEquals(RateLimitedLog.SUPPRESSED, log.tryAcquire("not_found"));
+		assertEquals(RateLimitedLog.SUPPRESSED, log.tryAcquire("not_found"));
+	}
+
+	@Test
+	void keysAreLimitedIndependently() {
+		RateLimitedLog log = new RateLimitedLog(Duration.ofHours(1));
+
+		assertEquals(0, log.tryAcquire("not_found"));
+		assertEquals(0, log.tryAcquire("invalid_input"));
+	}
+
+	@Test
+	void reportsSuppressedCountOnceIntervalHasPassed() throws InterruptedException {
+		RateLimitedLog log = new RateLimitedLog(Duration.ofMillis(20));
+
+		log.tryAcquire("database_busy");
+		log.tryAcquire("database_busy");
+		log.tryAcquire("database_busy");
+		Thread.sleep(40);
+
+		assertEquals(2, log.tryAcquire("database_busy"));
+	}
+}
@@ -0,0 +1,91 @@
+package com.college.management.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SamplingAppenderTests {
+
+	private final LoggerContext loggerContext = new LoggerContext();
+	private final SamplingAppender appender = new SamplingAppender();
+	private final ListAppender<ILoggingEvent> target = new ListAppender<>();
+
+	@BeforeEach
+	void setUp() {
+		target.setContext(loggerContext);
+		target.start();
+		appender.setContext(loggerContext);
+		appender.addAppender(target);
+		appender.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestLogContext.end(false);
+	}
+
+	@Test
+	void passesEverythingOutsideARequest() {
+		appender.doAppend(event(Level.DEBUG));
+
+		assertEquals(1, target.list.size());
+	}
+
+	@Test
+	void passesDebugOfSampledRequest() {
+		RequestLogContext.begin(true, 10);
+		appender.doAppend(event(Level.DEBUG));
+
+		assertEquals(1, target.list.size());
+	}
+
+	@Test
+	void holdsBackDebugOfUnsampledRequestUntilKept() {
+		RequestLogContext.begin(false, 10);
+		appender.doAppend(event(Level.DEBUG));
+		appender.doAppend(event(Level.INFO));
+
+		assertEquals(1, target.list.size());
+		assertEquals(1, RequestLogContext.end(true));
+		assertEquals(2, target.list.size());
+	}
+
+	@Test
+	void discardsHeldBackDebugOfOrdinaryRequest() {
+		RequestLogContext.begin(false, 10);
+		appender.doAppend(event(Level.DEBUG));
+
+		assertEquals(0, RequestLogContext.end(false));
+		assertEquals(0, target.list.size());
+	}
+
+	@Test
+	void countsEventsBeyondTheBufferLimit() {
+		RequestLogContext context = RequestLogContext.begin(false, 2);
+		for (int i = 0; i < 5; i++) {
+			appender.doAppend(event(Level.DEBUG));
+		}
+
+		assertEquals(2, context.buffered());
+		assertEquals(3, context.dropped());
+	}
+
+	private LoggingEvent event(Level level) {
+		LoggingEvent event = new LoggingEvent();
+		event.setLevel(level);
+		event.setLoggerName("test");
+		event.setMessage("message");
+		event.setLoggerContext(loggerContext);
+		event.setMDCPropertyMap(Map.of());
+		return event;
+	}
+}
@@ -0,0 +1,123 @@
+package com.college.management.service;
+
+import com.college.management.datasource.ReadRouting;
+import com.college.management.dto.DepartmentPayroll;
+import com.college.management.entity.Staff;
+import com.college.management.repository.StaffRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PayrollSnapshotTests {
+
+	private static final double[] MEDIAN = {50};
+
+	private PayrollSnapshot snapshot;
+
+	@BeforeEach
+	void setUp() {
+		snapshot = new PayrollSnapshot();
+		snapshot.load(Stream.of(
+				new Object[]{1L, 10L, 1000.0},
+				new Object[]{2L, 10L, 2000.0},
+				new Object[]{3L, 10L, 4000.0},
+				new Object[]{4L, 20L, 500.0}));
+	}
+
+	private static Staff staff(long id, long departmentId, double salary) {
+		Staff staff = new Staff("Staff " + id, departmentId, salary);
+		staff.setStaffId(id);
+		return staff;
+	}
+
+	@Test
+	void aggregatesDepartmentColumns() {
+		DepartmentPayroll payroll = snapshot.aggregate(10L, new double[]{50, 75, 100});
+		assertEquals(3, payroll.getHeadcount());
+		assertEquals(7000.0, payroll.getTotalSalary());
+		assertEquals(1000.0, payroll.getMinSalary());
+		assertEquals(4000.0, payroll.getMaxSalary());
+		assertEquals(2000.0, payroll.getPercentiles().get("p50"));
+		assertEquals(3000.0, payroll.getPercentiles().get("p75"));
+		assertEquals(4000.0, payroll.getPercentiles().get("p100"));
+	}
+
+	@Test
+	void followsCreatesMovesAndDeletes() {
+		snapshot.onStaffChanged(StaffChangedEvent.updated(staff(5L, 20L, 1500.0), null));
+		snapshot.onStaffChanged(StaffChangedEvent.updated(staff(3L, 20L, 9000.0), null));
+		snapshot.onStaffChanged(StaffChangedEvent.deleted(4L, null));
+
+		List<DepartmentPayroll> all = snapshot.aggregateAll(MEDIAN);
+		assertEquals(2, all.size());
+		assertEquals(3000.0, all.get(0).getTotalSalary());
+		assertEquals(10500.0, all.get(1).getTotalSalary());
+		assertEquals(5250.0, all.get(1).getPercentiles().get("p50"));
+
+		snapshot.onStaffChanged(StaffChangedEvent.deleted(1L, null));
+		snapshot.onStaffChanged(StaffChangedEvent.deleted(2L, null));
+		assertNull(snapshot.aggregate(10L, MEDIAN));
+	}
+
+	@Test
+	void keepsTotalsConsistentUnderManyWrites() {
+		Random random = new Random(42);
+		double[] salaries = new double[5000];
+		long[] departments = new long[5000];
+		for (int round = 0; round < 20000; round++) {
+			int id = random.nextInt(salaries.length);
+			if (random.nextInt(4) == 0) {
+				snapshot.onStaffChanged(StaffChangedEvent.deleted(1000 + id, null));
+				salaries[id] = 0;
+			} else {
+				departments[id] = random.nextInt(7);
+				salaries[id] = 1 + random.nextInt(100);
+				snapshot.onStaffChanged(StaffChangedEvent.updated(staff(1000 + id, departments[id], salaries[id]), null));
+			}
+		}
+		double expected = 0;
+		for (double salary : salaries) {
+			expected += salary;
+		}
+		double actual = snapshot.aggregateAll(MEDIAN).stream().mapToDouble(DepartmentPayroll::getTotalSalary).sum() - 7500.0;
+		assertEquals(expected, actual, 1e-6);
+	}
+
+	@Test
+	void reloadPicksUpWritesMadeElsewhereAndKeepsEventsFromDuringTheRead() {
+		StaffRepository staffRepository = mock(StaffRepository.class);
+		ReflectionTestUtils.setField(snapshot, "staffRepository", staffRepository);
+		ReflectionTestUtils.setField(snapshot, "transactionManager", mock(PlatformTransactionManager.class));
+		// Staff 4 was removed and staff 6 added behind the snapshot's back; staff 7 is created while the rows stream in
+		when(staffRepository.streamPayrollRows()).thenReturn(Stream.of(
+				new Object[]{1L, 10L, 1000.0},
+				new Object[]{2L, 10L, 2000.0},
+				new Object[]{3L, 10L, 4000.0},
+				new Object[]{6L, 20L, 800.0}).peek(row -> {
+					assertTrue(ReadRouting.isPinnedToPrimary());
+					if ((Long) row[0] == 3L) {
+						snapshot.onStaffChanged(StaffChangedEvent.created(staff(7L, 20L, 200.0)));
+					}
+				}));
+		snapshot.reload();
+
+		DepartmentPayroll payroll = snapshot.aggregate(20L, MEDIAN);
+		assertEquals(2, payroll.getHeadcount());
+		assertEquals(1000.0, payroll.getTotalSalary());
+		assertEquals(200.0, payroll.getMinSalary());
+		assertNotNull(payroll.getAsOf());
+		assertEquals(payroll.getAsOf(), snapshot.aggregate(10L, MEDIAN).getAsOf());
+	}
+}
@@ -0,0 +1,116 @@
+package com.college.management.service;
+
+import com.college.management.dto.StaffBatchOperation;
+import com.college.management.dto.StaffBatchResult;
+import com.college.management.entity.Staff;
+import com.college.management.repository.StaffRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StaffBatchServiceImplTests {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final TransactionStatus status = mock(TransactionStatus.class);
+	private final Connection connection = mock(Connection.class);
+	private final StaffBatchServiceImpl service;
+
+	StaffBatchServiceImplTests() {
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(status);
+		when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+				.thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+		service = new StaffBatchServiceImpl(transactionManager);
+		StaffRepository staffRepository = mock(StaffRepository.class);
+		when(staffRepository.findAllById(any())).thenReturn(List.of());
+		StaffIdAllocator staffIdAllocator = mock(StaffIdAllocator.class);
+		when(staffIdAllocator.reserveIds(anyInt())).thenAnswer(invocation -> {
+			long[] ids = new long[invocation.<Integer>getArgument(0)];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = 100 + i;
+			}
+			return ids;
+		});
+		ReflectionTestUtils.setField(service, "staffRepository", staffRepository);
+		ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(service, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+		ReflectionTestUtils.setField(service, "staffIdAllocator", staffIdAllocator);
+		ReflectionTestUtils.setField(service, "staffCache", mock(StaffCache.class));
+		ReflectionTestUtils.setField(service, "eventPublisher", mock(ApplicationEventPublisher.class));
+		ReflectionTestUtils.setField(service, "maxOperations", 10);
+	}
+
+	private static StaffBatchOperation create(String name) {
+		StaffBatchOperation operation = new StaffBatchOperation();
+		operation.setOp(StaffBatchOperation.Type.CREATE);
+		operation.setStaff(new Staff(name, 10L, 1000.0));
+		return operation;
+	}
+
+	// The database refuses any insert of a staff member called "Rejected"
+	private void rejectInsertsOf(String name) {
+		when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class))).thenAnswer(invocation -> {
+			List<Object[]> args = invocation.getArgument(1);
+			for (Object[] row : args) {
+				if (name.equals(row[1])) {
+					throw new DataIntegrityViolationException("value too long for type character varying(255)");
+				}
+			}
+			return new int[args.size()];
+		});
+	}
+
+	@Test
+	void continuesPastTheOperationTheDatabaseRejects() throws Exception {
+		rejectInsertsOf("Rejected");
+		List<StaffBatchOperation> operations = List.of(create("Jane"), create("Rejected"), create("John"));
+
+		StaffBatchResult result = service.execute(operations, false);
+
+		assertTrue(result.isCommitted());
+		List<Integer> statuses = new ArrayList<>();
+		result.getResults().forEach(operation -> statuses.add(operation.getStatus()));
+		assertEquals(List.of(201, 409, 201), statuses);
+		assertEquals("value too long for type character varying(255)", result.getResults().get(1).getError());
+		// The run, then each operation, under its own savepoint; only the batch and the rejected insert rolled back
+		verify(connection, times(4)).setSavepoint();
+		verify(connection, times(2)).rollback(any());
+		verify(status, never()).setRollbackOnly();
+	}
+
+	@Test
+	void atomicBatchesRollBackAndNameTheRejectedOperation() {
+		rejectInsertsOf("Rejected");
+		List<StaffBatchOperation> operations = List.of(create("Jane"), create("Rejected"));
+
+		StaffBatchResult result = service.execute(operations, true);
+
+		assertFalse(result.isCommitted());
+		assertEquals(424, result.getResults().get(0).getStatus());
+		assertEquals(409, result.getResults().get(1).getStatus());
+		verify(status).setRollbackOnly();
+	}
+}
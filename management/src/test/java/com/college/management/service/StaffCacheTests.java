@@ -0,0 +1,88 @@
+package com.college.management.service;
+
+import com.college.management.entity.Staff;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class StaffCacheTests {
+
+	private final StaffCache cache = new StaffCache();
+	private final AtomicInteger loads = new AtomicInteger();
+
+	StaffCacheTests() {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		cacheManager.registerCustomCache(StaffCache.STAFF, Caffeine.newBuilder().build());
+		cacheManager.registerCustomCache(StaffCache.STAFF_BY_DEPARTMENT, Caffeine.newBuilder().build());
+		ReflectionTestUtils.setField(cache, "cacheManager", cacheManager);
+	}
+
+	private Staff load(long id, String name) {
+		loads.incrementAndGet();
+		Staff staff = new Staff(name, 10L, 1000.0);
+		staff.setStaffId(id);
+		staff.setVersion(0L);
+		return staff;
+	}
+
+	@Test
+	void readersGetTheirOwnCopies() {
+		Staff first = cache.getStaff(1L, () -> load(1L, "Jane"));
+		first.setStaffName("Changed by a caller");
+		Staff second = cache.getStaff(1L, () -> load(1L, "Jane"));
+
+		assertNotSame(first, second);
+		assertEquals("Jane", second.getStaffName());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void bulkReadersGetCopiesOfFreshlyLoadedStaffToo() {
+		Staff shared = load(1L, "Jane");
+		Staff loaded = cache.getStaff(List.of(1L), missing -> Map.of(1L, shared)).get(1L);
+		loaded.setStaffName("Changed by a caller");
+
+		assertNotSame(shared, loaded);
+		assertEquals("Jane", shared.getStaffName());
+		assertEquals("Jane", cache.getStaff(List.of(1L), missing -> Map.of()).get(1L).getStaffName());
+	}
+
+	@Test
+	void loadRacingWithAnEvictionIsNotCached() {
+		// The write commits (and evicts) while the reader still holds the row it read before the write
+		cache.getStaff(1L, () -> {
+			Staff stale = load(1L, "Before");
+			cache.evictStaff(1L);
+			return stale;
+		});
+
+		assertEquals("After", cache.getStaff(1L, () -> load(1L, "After")).getStaffName());
+		assertEquals("After", cache.getStaff(1L, () -> load(1L, "Again")).getStaffName());
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void departmentListsAreCopiedAndGuardedToo() {
+		cache.getDepartment(10L, () -> {
+			List<Staff> stale = List.of(load(1L, "Before"));
+			cache.evictAllDepartments();
+			return stale;
+		});
+
+		List<Staff> second = cache.getDepartment(10L, () -> List.of(load(1L, "After")));
+		second.get(0).setSalary(1.0);
+		List<Staff> third = cache.getDepartment(10L, () -> List.of(load(1L, "Again")));
+
+		assertEquals("After", third.get(0).getStaffName());
+		assertEquals(1000.0, third.get(0).getSalary());
+		assertEquals(2, loads.get());
+	}
+}
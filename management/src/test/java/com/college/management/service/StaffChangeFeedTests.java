@@ -0,0 +1,88 @@
+package com.college.management.service;
+
+import com.college.management.dto.StaffChange;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StaffChangeFeedTests {
+
+	private final StaffOutbox outbox = mock(StaffOutbox.class);
+
+	private static StaffChange change(long id, long departmentId) {
+		return new StaffChange(id, "UPDATED", id * 10, departmentId, null, "Staff " + id, 1000.0, 1L, Instant.EPOCH);
+	}
+
+	@Test
+	void holdsInFrontOfAnOpenGap() {
+		StaffChangeFeed feed = new StaffChangeFeed(outbox, Duration.ofMinutes(1));
+		when(outbox.read(eq(0L), anyLong(), isNull(), anyInt())).thenReturn(List.of(change(1, 10), change(2, 10), change(4, 10)));
+
+		assertFalse(feed.relayBatch());
+		assertEquals(2, feed.published());
+	}
+
+	@Test
+	void skipsAGapOnceItTimesOut() {
+		StaffChangeFeed feed = new StaffChangeFeed(outbox, Duration.ZERO);
+		when(outbox.read(eq(0L), anyLong(), isNull(), anyInt())).thenReturn(List.of(change(1, 10), change(3, 10)));
+
+		feed.relayBatch();
+		assertEquals(3, feed.published());
+	}
+
+	@Test
+	void resumedSubscriptionCatchesUpThenFollowsTheRelayWithoutDuplicates() throws Exception {
+		StaffChangeFeed feed = new StaffChangeFeed(outbox, Duration.ofMinutes(1));
+		when(outbox.read(eq(0L), anyLong(), isNull(), anyInt())).thenReturn(List.of(change(1, 10), change(2, 20), change(3, 10)));
+		feed.relayBatch();
+		when(outbox.oldestId()).thenReturn(1L);
+		when(outbox.read(eq(0L), eq(3L), eq(10L), anyInt())).thenReturn(List.of(change(1, 10), change(3, 10)));
+		BlockingQueue<Long> received = new LinkedBlockingQueue<>();
+
+		Runnable close = feed.subscribe(10L, 0L, new CollectingSink(received));
+		assertEquals(1L, received.poll(5, TimeUnit.SECONDS));
+		assertEquals(3L, received.poll(5, TimeUnit.SECONDS));
+
+		// 4 belongs to another department and is filtered out
+		when(outbox.read(eq(3L), anyLong(), isNull(), anyInt())).thenReturn(List.of(change(4, 20), change(5, 10)));
+		feed.relayBatch();
+		assertEquals(5L, received.poll(5, TimeUnit.SECONDS));
+		assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+
+		close.run();
+		assertEquals(0, feed.subscriberCount());
+	}
+
+	private record CollectingSink(BlockingQueue<Long> received) implements StaffChangeFeed.Sink {
+
+		@Override
+		public void send(List<StaffChange> changes) {
+			changes.forEach(change -> received.add(change.getId()));
+		}
+
+		@Override
+		public void heartbeat() {
+		}
+
+		@Override
+		public void reset() {
+			received.add(-1L);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package com.college.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StaffImportReaderTests {
+
+	private static StaffImportReader open(String content, ImportFormat format) {
+		return StaffImportReader.open(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, new ObjectMapper());
+	}
+
+	@Test
+	void readsCsvColumnsByHeaderName() throws Exception {
+		try (StaffImportReader reader = open("salary,staff_name,departmentId\n50000,\"Doe, \"\"JD\"\" John\",101\n\n", ImportFormat.CSV)) {
+			StaffImportReader.Row row = reader.next();
+			assertNull(row.error);
+			assertEquals("Doe, \"JD\" John", row.staff.getStaffName());
+			assertEquals(101L, row.staff.getDepartmentId());
+			assertEquals(50000.0, row.staff.getSalary());
+			assertFalse(reader.hasNext());
+		}
+	}
+
+	@Test
+	void reportsUnparseableCsvRowsWithRowNumber() throws Exception {
+		try (StaffImportReader reader = open("staffName,departmentId,salary\nJane,101,60000\nJohn,abc,50000\nJim,101\n", ImportFormat.CSV)) {
+			assertNull(reader.next().error);
+			StaffImportReader.Row badNumber = reader.next();
+			assertEquals(2, badNumber.error.getRow());
+			assertEquals("departmentId", badNumber.error.getField());
+			assertEquals(3, reader.next().error.getRow());
+		}
+	}
+
+	@Test
+	void streamsJsonArrayElements() throws Exception {
+		try (StaffImportReader reader = open("[{\"staffName\":\"Jane\",\"departmentId\":7,\"salary\":1.5},{\"staffName\":\"John\",\"departmentId\":8,\"salary\":2}]", ImportFormat.JSON)) {
+			assertEquals("Jane", reader.next().staff.getStaffName());
+			assertEquals(2, reader.next().number);
+			assertFalse(reader.hasNext());
+		}
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.college.management.service;
+
+import com.college.management.dto.BulkImportResult;
+import com.college.management.entity.Staff;
+import com.college.management.repository.StaffRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StaffImportServiceImplTests {
+
+	private final StaffRepository staffRepository = mock(StaffRepository.class);
+	private final List<StaffChangedEvent> published = new ArrayList<>();
+	private final StaffImportServiceImpl service = new StaffImportServiceImpl(mock(PlatformTransactionManager.class));
+
+	StaffImportServiceImplTests() {
+		ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+		doAnswer(invocation -> published.add(invocation.getArgument(0)))
+				.when(eventPublisher).publishEvent(any(Object.class));
+		ReflectionTestUtils.setField(service, "staffRepository", staffRepository);
+		ReflectionTestUtils.setField(service, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+		ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(service, "staffCache", mock(StaffCache.class));
+		ReflectionTestUtils.setField(service, "eventPublisher", eventPublisher);
+		ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+		ReflectionTestUtils.setField(service, "maxChunkSize", 100);
+	}
+
+	@Test
+	void importsRowsCarryingAnIdAndVersionAsNewRows() {
+		// Like Hibernate: a row with a version is merged, and only the returned copy gets its state
+		List<Staff> saved = new ArrayList<>();
+		when(staffRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Staff> copies = new ArrayList<>();
+			for (Staff staff : invocation.<List<Staff>>getArgument(0)) {
+				saved.add(staff);
+				Staff copy = new Staff(staff.getStaffName(), staff.getDepartmentId(), staff.getSalary());
+				copy.setStaffId(100L + copies.size());
+				copy.setVersion(staff.getVersion() == null ? 0L : staff.getVersion() + 1);
+				copies.add(copy);
+			}
+			return copies;
+		});
+		String json = "[{\"staffId\":7,\"staffName\":\"Jane\",\"departmentId\":101,\"salary\":60000,\"version\":3},"
+				+ "{\"staffName\":\"John\",\"departmentId\":101,\"salary\":50000}]";
+
+		BulkImportResult result = service.importStaff(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+				ImportFormat.JSON, 10, false);
+
+		assertEquals(2, result.getImportedRows());
+		for (Staff staff : saved) {
+			assertNull(staff.getStaffId());
+			assertNull(staff.getVersion());
+		}
+		assertEquals(2, published.size());
+		assertEquals(100L, published.get(0).getStaffId());
+		assertEquals(0L, published.get(0).getVersion());
+		assertEquals(101L, published.get(1).getStaffId());
+	}
+}
@@ -0,0 +1,76 @@
+package com.college.management.service;
+
+import com.college.management.entity.Staff;
+import com.college.management.exception.DatabaseBusyException;
+import com.college.management.repository.StaffRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StaffLoaderTests {
+
+	private final StaffRepository repository = mock(StaffRepository.class);
+	private final ConcurrentLinkedQueue<Set<Long>> queries = new ConcurrentLinkedQueue<>();
+
+	private static Staff staff(long id) {
+		Staff staff = new Staff("Staff " + id, 10L, 1000.0);
+		staff.setStaffId(id);
+		return staff;
+	}
+
+	private StaffLoader loader(int maxBatchSize) {
+		when(repository.findAllById(any())).thenAnswer(invocation -> {
+			Collection<Long> ids = invocation.getArgument(0);
+			queries.add(Set.copyOf(ids));
+			return ids.stream().filter(id -> id < 100).map(StaffLoaderTests::staff).toList();
+		});
+		return new StaffLoader(repository, Duration.ofMillis(200), maxBatchSize);
+	}
+
+	@Test
+	void concurrentLookupsShareOneQuery() {
+		StaffLoader loader = loader(100);
+		List<CompletableFuture<Staff>> lookups = new ArrayList<>();
+		for (long id : new long[]{1, 2, 2, 3, 1, 404}) {
+			lookups.add(CompletableFuture.supplyAsync(() -> loader.load(id)));
+		}
+
+		assertEquals(2L, lookups.get(2).join().getStaffId());
+		assertEquals(1L, lookups.get(4).join().getStaffId());
+		assertNull(lookups.get(5).join());
+		assertEquals(List.of(Set.of(1L, 2L, 3L, 404L)), List.copyOf(queries));
+	}
+
+	@Test
+	void loadAllSplitsIntoBatchesAndKeepsTheRequestedOrder() {
+		StaffLoader loader = loader(2);
+
+		Map<Long, Staff> found = loader.loadAll(List.of(5L, 3L, 500L, 5L, 1L));
+
+		assertEquals(List.of(5L, 3L, 1L), List.copyOf(found.keySet()));
+		assertEquals(2, queries.size());
+	}
+
+	@Test
+	void failuresReachEveryWaiter() {
+		when(repository.findAllById(any())).thenThrow(new DatabaseBusyException("Database is busy, please retry"));
+		StaffLoader loader = new StaffLoader(repository, Duration.ZERO, 100);
+
+		assertThrows(DatabaseBusyException.class, () -> loader.load(1L));
+		assertThrows(DatabaseBusyException.class, () -> loader.loadAll(List.of(1L, 2L)));
+	}
+}
@@ -0,0 +1,94 @@
+package com.college.management.service;
+
+import com.college.management.datasource.ReadRouting;
+import com.college.management.entity.Staff;
+import com.college.management.repository.StaffRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StaffNameIndexTests {
+
+	private StaffNameIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new StaffNameIndex();
+		index.index(1L, "Johnny Walker");
+		index.index(2L, "John Doe");
+		index.index(3L, "Mary  Johnson");
+		index.index(4L, "Elton John");
+		index.index(5L, "Jane Smith");
+		index.markReady();
+	}
+
+	@Test
+	void ranksExactThenPrefixThenWordPrefix() {
+		index.index(6L, "john");
+		assertEquals(List.of(6L, 2L, 1L, 4L, 3L), index.search("JOHN", 10));
+	}
+
+	@Test
+	void shortQueriesMatchWordPrefixes() {
+		assertEquals(List.of(2L, 5L, 1L, 4L, 3L), index.search("j", 10));
+		assertEquals(List.of(2L), index.search("do", 10));
+	}
+
+	@Test
+	void substringAcrossWordsAndLimit() {
+		assertEquals(List.of(2L), index.search("n do", 10));
+		assertEquals(List.of(2L, 1L), index.search("john", 2));
+	}
+
+	@Test
+	void fuzzyMatchesTypos() {
+		assertEquals(List.of(5L), index.search("jane smitt", 10));
+		assertEquals(List.of(1L), index.search("walkr", 10));
+	}
+
+	@Test
+	void updatesAndRemovalsAreIncremental() {
+		index.index(2L, "Richard Roe");
+		index.unindex(4L);
+		assertEquals(List.of(1L, 3L), index.search("john", 10));
+		assertEquals(List.of(2L), index.search("roe", 10));
+		assertTrue(index.search("elton", 10).isEmpty());
+		assertEquals(4, index.size());
+	}
+
+	@Test
+	void rebuildSwapsInANewTableAndReplaysWritesMadeDuringTheRead() {
+		StaffRepository staffRepository = mock(StaffRepository.class);
+		ReflectionTestUtils.setField(index, "staffRepository", staffRepository);
+		ReflectionTestUtils.setField(index, "transactionManager", mock(PlatformTransactionManager.class));
+		Staff renamed = new Staff("Richard Roe", 10L, 1000.0);
+		renamed.setStaffId(7L);
+		when(staffRepository.streamIdsAndNames()).thenReturn(Stream.of(
+				new Object[]{7L, "John Roe"}, new Object[]{8L, "Jane Roe"}, new Object[]{9L, "Johnny Cash"}
+		).peek(row -> {
+			assertTrue(ReadRouting.isPinnedToPrimary());
+			if (row[0].equals(8L)) {
+				// Committed while the rebuild streams: the old index still answers, and the write survives the swap
+				assertEquals(List.of(2L, 1L, 4L, 3L), index.search("john", 10));
+				index.onStaffChanged(StaffChangedEvent.updated(renamed, null));
+				index.onStaffChanged(StaffChangedEvent.deleted(9L, null));
+			}
+		}));
+
+		index.rebuild();
+
+		assertTrue(index.isReady());
+		assertEquals(2, index.size());
+		assertTrue(index.search("john", 10).isEmpty());
+		assertEquals(List.of(8L, 7L), index.search("roe", 10));
+	}
+}